@@ -0,0 +1,53 @@
+-- 상품 자연키 (발행회사, 상품명) 에 유니크 제약 추가
+--
+-- 수동 실행 스크립트 (순서와 시점은 scripts/db/README.md 참고)
+-- (발행회사, 상품명) 마다 ACTIVE 상품을 우선으로, 그 다음 id 가 가장 큰 상품 하나만 남기고 나머지는 하위 행과 함께 삭제
+-- 여러 번 실행해도 결과가 같음
+
+DROP TEMPORARY TABLE IF EXISTS product_duplicate;
+
+CREATE TEMPORARY TABLE product_duplicate AS
+SELECT p.product_id
+FROM product p
+WHERE EXISTS (SELECT 1
+              FROM product k
+              WHERE k.issuer = p.issuer
+                AND k.name = p.name
+                AND k.product_id <> p.product_id
+                AND ((k.product_state = 'ACTIVE') > (p.product_state = 'ACTIVE')
+                    OR ((k.product_state = 'ACTIVE') = (p.product_state = 'ACTIVE') AND k.product_id > p.product_id)));
+
+START TRANSACTION;
+
+DELETE v
+FROM product_equity_volatility v
+         JOIN product_ticker_symbol t ON t.product_ticker_symbol_id = v.product_equity_volatility_id
+         JOIN product_duplicate d ON d.product_id = t.product_id;
+
+DELETE t
+FROM product_ticker_symbol t
+         JOIN product_duplicate d ON d.product_id = t.product_id;
+
+DELETE e
+FROM early_repayment_evaluation_dates e
+         JOIN product_duplicate d ON d.product_id = e.product_id;
+
+DELETE p
+FROM product p
+         JOIN product_duplicate d ON d.product_id = p.product_id;
+
+COMMIT;
+
+DROP TEMPORARY TABLE product_duplicate;
+
+-- 이미 제약이 있다면 추가하지 않음
+SET @ddl = IF((SELECT COUNT(*)
+               FROM information_schema.table_constraints
+               WHERE table_schema = DATABASE()
+                 AND table_name = 'product'
+                 AND constraint_name = 'uk_product_issuer_name') = 0,
+              'ALTER TABLE product ADD CONSTRAINT uk_product_issuer_name UNIQUE (issuer, name)',
+              'DO 0');
+PREPARE add_unique_key FROM @ddl;
+EXECUTE add_unique_key;
+DEALLOCATE PREPARE add_unique_key;
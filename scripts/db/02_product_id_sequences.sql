@@ -0,0 +1,24 @@
+-- 상품, 상품 Ticker, 조기상환평가일 id 를 IDENTITY 대신 pooled 시퀀스(MySQL 에서는 시퀀스 테이블)로 발급
+--
+-- 수동 실행 스크립트 (순서와 시점은 scripts/db/README.md 참고)
+-- 시작할 때 ProductIdSequenceVerifier 가 시퀀스 테이블이 있는지, 다음 값이 기존 최대 id 이후인지 확인함
+-- pooled optimizer 는 읽어온 값에서 allocationSize(IdGeneration.ALLOCATION_SIZE = 50) 만큼 앞의 값부터 발급하므로,
+-- 다음 값을 기존 최대 id + 51 이후로 둠 (이미 그보다 크다면 그대로 둠)
+
+CREATE TABLE IF NOT EXISTS product_seq (next_val BIGINT);
+CREATE TABLE IF NOT EXISTS product_ticker_symbol_seq (next_val BIGINT);
+CREATE TABLE IF NOT EXISTS early_repayment_evaluation_dates_seq (next_val BIGINT);
+
+INSERT INTO product_seq (next_val)
+SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM product_seq);
+INSERT INTO product_ticker_symbol_seq (next_val)
+SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM product_ticker_symbol_seq);
+INSERT INTO early_repayment_evaluation_dates_seq (next_val)
+SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM early_repayment_evaluation_dates_seq);
+
+UPDATE product_seq
+SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(product_id), 0) + 51 FROM product));
+UPDATE product_ticker_symbol_seq
+SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(product_ticker_symbol_id), 0) + 51 FROM product_ticker_symbol));
+UPDATE early_repayment_evaluation_dates_seq
+SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(early_repayment_evaluation_dates_id), 0) + 51 FROM early_repayment_evaluation_dates));
@@ -0,0 +1,27 @@
+package com.wl2c.elswherebatchservice.domain.batch;
+
+import com.wl2c.elswherebatchservice.domain.product.service.ExcelRowRetryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 처리에 실패한 엑셀 행 재시도
+ *
+ * 스케줄러 스레드를 엑셀 파싱 작업과 공유하므로 두 작업이 동시에 실행되지 않음
+ */
+@Component
+@RequiredArgsConstructor
+@EnableScheduling
+@Slf4j
+public class ExcelRowRetryScheduler {
+
+    private final ExcelRowRetryService excelRowRetryService;
+
+    @Scheduled(fixedDelayString = "${scheduler.excel-row-retry.delay:PT10M}", initialDelayString = "${scheduler.excel-row-retry.initial-delay:PT5M}")
+    public void retryFailedRows() {
+        excelRowRetryService.retryFailedRows();
+    }
+}
@@ -1,6 +1,5 @@
 package com.wl2c.elswherebatchservice.domain.batch;
 
-import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
 import com.wl2c.elswherebatchservice.domain.product.service.ParsingExcelService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,7 +18,7 @@ public class ParsingExcelScheduler {
     private final ParsingExcelService parsingExcelService;
 
     @Scheduled(cron = "${scheduler.parsing-excel.cron}")
-    public void parsingExcel() throws IOException, InvalidFormatException {
+    public void parsingExcel() throws IOException {
         parsingExcelService.parsingExcel();
     }
 }
@@ -0,0 +1,40 @@
+package com.wl2c.elswherebatchservice.domain.batch.controller;
+
+import com.wl2c.elswherebatchservice.domain.product.service.ProductBackfillService;
+import com.wl2c.elswherebatchservice.domain.product.service.ProductWriteJobLock;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.file.Path;
+
+@RestController
+@RequiredArgsConstructor
+public class BackfillController {
+
+    private final ProductBackfillService productBackfillService;
+    private final ProductWriteJobLock productWriteJobLock;
+
+    /**
+     * 디렉터리의 엑셀 파일들을 백필 (비동기)
+     *
+     * @param directory file.backfill.path 기준 상대 경로
+     */
+    @PostMapping("/backfill")
+    public ResponseEntity<String> backfill(@RequestParam String directory) {
+        Path path;
+        try {
+            path = productBackfillService.resolveDirectory(directory);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+
+        if (!productBackfillService.startBackfill(path)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Another product job is running : " + productWriteJobLock.getRunningJob().orElse("unknown"));
+        }
+        return ResponseEntity.accepted().body("Backfill started : " + path);
+    }
+}
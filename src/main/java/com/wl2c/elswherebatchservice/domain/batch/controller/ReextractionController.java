@@ -0,0 +1,47 @@
+package com.wl2c.elswherebatchservice.domain.batch.controller;
+
+import com.wl2c.elswherebatchservice.domain.product.model.ExtractedField;
+import com.wl2c.elswherebatchservice.domain.product.service.ProductReextractionService;
+import com.wl2c.elswherebatchservice.domain.product.service.ProductWriteJobLock;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequiredArgsConstructor
+public class ReextractionController {
+
+    private final ProductReextractionService productReextractionService;
+    private final ProductWriteJobLock productWriteJobLock;
+
+    /**
+     * 저장된 투자설명서로 추출기 버전이 낮은 항목을 다시 추출 (비동기)
+     *
+     * @param fields 재추출할 항목 (생략하면 모든 항목)
+     */
+    @PostMapping("/reextract")
+    public ResponseEntity<String> reextract(@RequestParam(required = false) List<String> fields) {
+        Set<ExtractedField> extractedFields = EnumSet.noneOf(ExtractedField.class);
+        if (fields != null) {
+            for (String field : fields) {
+                try {
+                    extractedFields.add(ExtractedField.valueOf(field.strip()));
+                } catch (IllegalArgumentException e) {
+                    return ResponseEntity.badRequest().body("Invalid field : " + field);
+                }
+            }
+        }
+
+        if (!productReextractionService.startReextraction(extractedFields)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Another product job is running : " + productWriteJobLock.getRunningJob().orElse("unknown"));
+        }
+        return ResponseEntity.accepted().body("Reextraction started : " + (extractedFields.isEmpty() ? "all fields" : extractedFields));
+    }
+}
@@ -0,0 +1,21 @@
+package com.wl2c.elswherebatchservice.domain.product.model;
+
+/**
+ * 엑셀 행 처리가 실패한 단계
+ */
+public enum DeadLetterStage {
+    /**
+     * 엑셀 행 해석
+     */
+    DECODE,
+
+    /**
+     * 투자설명서 조회 및 파싱
+     */
+    PREPARE,
+
+    /**
+     * DB 저장
+     */
+    WRITE
+}
@@ -0,0 +1,18 @@
+package com.wl2c.elswherebatchservice.domain.product.model;
+
+public enum DeadLetterStatus {
+    /**
+     * 재시도 대기
+     */
+    PENDING,
+
+    /**
+     * 재시도 성공
+     */
+    RESOLVED,
+
+    /**
+     * 최대 재시도 횟수 초과
+     */
+    GAVE_UP
+}
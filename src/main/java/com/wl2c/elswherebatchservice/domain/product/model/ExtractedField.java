@@ -0,0 +1,41 @@
+package com.wl2c.elswherebatchservice.domain.product.model;
+
+import lombok.Getter;
+
+/**
+ * 투자설명서에서 추출하는 항목과 현재 추출기 버전
+ *
+ * 추출 방식을 고치면 해당 항목의 버전을 올리고, 재추출 작업으로 이전 버전으로 추출된 상품만 다시 추출함
+ */
+@Getter
+public enum ExtractedField {
+    /**
+     * 최초기준가격평가일
+     */
+    INITIAL_BASE_PRICE_EVALUATION_DATE(1),
+
+    /**
+     * 만기평가일과 만기평가일 개수
+     */
+    MATURITY_EVALUATION_DATE(1),
+
+    /**
+     * 기초자산가격 변동성
+     */
+    VOLATILITIES(1),
+
+    /**
+     * 자동조기상환평가일
+     */
+    EARLY_REPAYMENT_EVALUATION_DATES(1);
+
+    private final int version;
+
+    ExtractedField(int version) {
+        this.version = version;
+    }
+
+    public boolean isStale(Integer version) {
+        return version == null || version < this.version;
+    }
+}
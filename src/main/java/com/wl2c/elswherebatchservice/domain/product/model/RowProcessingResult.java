@@ -0,0 +1,41 @@
+package com.wl2c.elswherebatchservice.domain.product.model;
+
+/**
+ * 엑셀 한 행의 처리 결과
+ */
+public enum RowProcessingResult {
+
+    /**
+     * 이미 저장된 상품
+     */
+    ALREADY_EXISTS,
+
+    /**
+     * 투자설명서 정보와 함께 저장 (ACTIVE)
+     */
+    SAVED,
+
+    /**
+     * 투자설명서 없이 저장 (INACTIVE)
+     */
+    SAVED_WITHOUT_PROSPECTUS,
+
+    /**
+     * 이미 INACTIVE 로 저장되어 있고 아직 투자설명서가 없음
+     */
+    WAITING_FOR_PROSPECTUS,
+
+    /**
+     * 발행회사 또는 기초자산 정보가 없어 건너뜀
+     */
+    SKIPPED;
+
+    /**
+     * 다음 실행에서 같은 내용의 행을 다시 처리할 필요가 없는지
+     *
+     * 투자설명서가 없던 상품은 이후에 공시될 수 있으므로, 건너뛴 행은 티커/발행회사가 추가될 수 있으므로 다시 처리
+     */
+    public boolean isCompleted() {
+        return this == ALREADY_EXISTS || this == SAVED;
+    }
+}
@@ -0,0 +1,111 @@
+package com.wl2c.elswherebatchservice.domain.product.model.dto;
+
+import com.wl2c.elswherebatchservice.domain.product.model.RowProcessingResult;
+import com.wl2c.elswherebatchservice.domain.product.model.entity.Product;
+import com.wl2c.elswherebatchservice.domain.product.model.entity.TickerSymbol;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 투자설명서 조회/파싱까지 마치고 DB 저장만 남은 엑셀 한 행
+ *
+ * 네트워크 작업은 트랜잭션 밖에서 끝내고, 청크 단위 트랜잭션에서는 저장만 수행
+ */
+@Getter
+public class PreparedProduct {
+
+    private final ProductRow row;
+
+    private final RowProcessingResult result;
+
+    // INACTIVE 로 저장되어 있던 상품 (없으면 null)
+    private final StoredProductKey storedProduct;
+
+    // 저장할 상품 (하위 엔티티 제외)
+    private final Product product;
+
+    // 기초자산명 -> 티커
+    private final Map<String, TickerSymbol> tickerSymbols;
+
+    private final String volatilities;
+
+    private final List<String> earlyRepaymentEvaluationDates;
+
+    // 저장할 상품이 없는 행에도 보낼 알림이 있을 수 있음
+    private final RowSideEffects sideEffects;
+
+    @Builder(access = AccessLevel.PRIVATE)
+    private PreparedProduct(@NonNull ProductRow row,
+                            @NonNull RowProcessingResult result,
+                            StoredProductKey storedProduct,
+                            Product product,
+                            Map<String, TickerSymbol> tickerSymbols,
+                            String volatilities,
+                            List<String> earlyRepaymentEvaluationDates,
+                            RowSideEffects sideEffects) {
+        this.row = row;
+        this.result = result;
+        this.storedProduct = storedProduct;
+        this.product = product;
+        this.tickerSymbols = tickerSymbols == null ? Map.of() : tickerSymbols;
+        this.volatilities = volatilities;
+        this.earlyRepaymentEvaluationDates = earlyRepaymentEvaluationDates == null ? List.of() : earlyRepaymentEvaluationDates;
+        this.sideEffects = sideEffects == null ? new RowSideEffects() : sideEffects;
+    }
+
+    /**
+     * 저장할 것이 없는 행
+     */
+    public static PreparedProduct of(ProductRow row, RowProcessingResult result) {
+        return of(row, result, null);
+    }
+
+    public static PreparedProduct of(ProductRow row, RowProcessingResult result, RowSideEffects sideEffects) {
+        return PreparedProduct.builder()
+                .row(row)
+                .result(result)
+                .sideEffects(sideEffects)
+                .build();
+    }
+
+    public static PreparedProduct withProspectus(ProductRow row,
+                                                 StoredProductKey storedProduct,
+                                                 Product product,
+                                                 Map<String, TickerSymbol> tickerSymbols,
+                                                 String volatilities,
+                                                 List<String> earlyRepaymentEvaluationDates,
+                                                 RowSideEffects sideEffects) {
+        return PreparedProduct.builder()
+                .row(row)
+                .result(RowProcessingResult.SAVED)
+                .storedProduct(storedProduct)
+                .product(product)
+                .tickerSymbols(tickerSymbols)
+                .volatilities(volatilities)
+                .earlyRepaymentEvaluationDates(earlyRepaymentEvaluationDates)
+                .sideEffects(sideEffects)
+                .build();
+    }
+
+    public static PreparedProduct withoutProspectus(ProductRow row, Product product, RowSideEffects sideEffects) {
+        return PreparedProduct.builder()
+                .row(row)
+                .result(RowProcessingResult.SAVED_WITHOUT_PROSPECTUS)
+                .product(product)
+                .sideEffects(sideEffects)
+                .build();
+    }
+
+    public boolean isWritable() {
+        return product != null;
+    }
+
+    public ProductKey getKey() {
+        return new ProductKey(row.getIssuer(), row.getName());
+    }
+}
@@ -0,0 +1,47 @@
+package com.wl2c.elswherebatchservice.domain.product.model.dto;
+
+import com.wl2c.elswherebatchservice.domain.product.model.ProductType;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 엑셀 한 행의 상품명, 상품유형 문자열로부터 판별한 결과
+ *
+ * 행마다 한 번만 계산하여 로그, 투자설명서 처리, 저장 과정에서 재사용
+ */
+@Getter
+@ToString
+public class ProductClassification {
+
+    // 낙인 배리어 (노낙인 또는 파악되지 않으면 null)
+    private final Integer knockIn;
+
+    private final ProductType productType;
+
+    // 조기상환 배리어 (ex. 90-90-85-85-80-75)
+    private final String productInfo;
+
+    // 상품 회차
+    private final String productSession;
+
+    private final Integer issueNumber;
+
+    // 상품명에 포함된 발행회사명 (등록되지 않은 발행회사라면 null)
+    private final String nameIssuer;
+
+    @Builder
+    private ProductClassification(Integer knockIn,
+                                  ProductType productType,
+                                  String productInfo,
+                                  String productSession,
+                                  Integer issueNumber,
+                                  String nameIssuer) {
+        this.knockIn = knockIn;
+        this.productType = productType;
+        this.productInfo = productInfo;
+        this.productSession = productSession;
+        this.issueNumber = issueNumber;
+        this.nameIssuer = nameIssuer;
+    }
+}
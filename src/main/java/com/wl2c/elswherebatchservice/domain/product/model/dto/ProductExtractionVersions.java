@@ -0,0 +1,56 @@
+package com.wl2c.elswherebatchservice.domain.product.model.dto;
+
+import com.wl2c.elswherebatchservice.domain.product.model.ExtractedField;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 투자설명서가 있는 상품의 항목별 추출기 버전
+ */
+@Getter
+@ToString
+public class ProductExtractionVersions {
+
+    private final Long id;
+
+    private final String issuer;
+
+    private final String name;
+
+    private final String prospectusLink;
+
+    private final Integer initialBasePriceEvaluationDateVersion;
+
+    private final Integer maturityEvaluationDateVersion;
+
+    private final Integer volatilitiesVersion;
+
+    private final Integer earlyRepaymentEvaluationDatesVersion;
+
+    public ProductExtractionVersions(Long id,
+                                     String issuer,
+                                     String name,
+                                     String prospectusLink,
+                                     Integer initialBasePriceEvaluationDateVersion,
+                                     Integer maturityEvaluationDateVersion,
+                                     Integer volatilitiesVersion,
+                                     Integer earlyRepaymentEvaluationDatesVersion) {
+        this.id = id;
+        this.issuer = issuer;
+        this.name = name;
+        this.prospectusLink = prospectusLink;
+        this.initialBasePriceEvaluationDateVersion = initialBasePriceEvaluationDateVersion;
+        this.maturityEvaluationDateVersion = maturityEvaluationDateVersion;
+        this.volatilitiesVersion = volatilitiesVersion;
+        this.earlyRepaymentEvaluationDatesVersion = earlyRepaymentEvaluationDatesVersion;
+    }
+
+    public boolean isStale(ExtractedField field) {
+        return field.isStale(switch (field) {
+            case INITIAL_BASE_PRICE_EVALUATION_DATE -> initialBasePriceEvaluationDateVersion;
+            case MATURITY_EVALUATION_DATE -> maturityEvaluationDateVersion;
+            case VOLATILITIES -> volatilitiesVersion;
+            case EARLY_REPAYMENT_EVALUATION_DATES -> earlyRepaymentEvaluationDatesVersion;
+        });
+    }
+}
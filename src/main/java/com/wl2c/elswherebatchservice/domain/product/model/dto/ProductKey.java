@@ -0,0 +1,23 @@
+package com.wl2c.elswherebatchservice.domain.product.model.dto;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 상품의 자연키 (발행회사, 상품명)
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+public class ProductKey {
+
+    private final String issuer;
+
+    private final String name;
+
+    public ProductKey(String issuer, String name) {
+        this.issuer = issuer;
+        this.name = name;
+    }
+}
@@ -0,0 +1,108 @@
+package com.wl2c.elswherebatchservice.domain.product.model.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 엑셀(B ~ P열) 한 행을 타입에 맞게 변환한 값
+ */
+@Getter
+@ToString
+public class ProductRow {
+
+    // 0부터 시작하는 엑셀 행 번호
+    private final int rowNum;
+
+    // 발행 회사 (B)
+    private final String issuer;
+
+    // 신용등급 (C)
+    private final String creditRating;
+
+    // 상품명 (D)
+    private final String name;
+
+    // 기초자산 (E, <br/> 로 구분)
+    private final List<String> equities;
+
+    // 발행일 (F)
+    private final LocalDate issuedDate;
+
+    // 만기일 (G)
+    private final LocalDate maturityDate;
+
+    // 조건 충족 시 수익률(연, %) (H)
+    private final BigDecimal yieldIfConditionsMet;
+
+    // 최대손실률(%) (I)
+    private final BigDecimal maximumLossRate;
+
+    // 청약시작일 (J)
+    private final LocalDate subscriptionStartDate;
+
+    // 청약종료일 (K)
+    private final LocalDate subscriptionEndDate;
+
+    // 상품유형 (L)
+    private final String productFullInfo;
+
+    // 홈페이지 (N)
+    private final String link;
+
+    // 비고 (P)
+    private final String remarks;
+
+    private final ProductClassification classification;
+
+    // 엑셀 행 내용의 해시
+    private final String fingerprint;
+
+    @Builder
+    private ProductRow(int rowNum,
+                       String issuer,
+                       String creditRating,
+                       String name,
+                       List<String> equities,
+                       LocalDate issuedDate,
+                       LocalDate maturityDate,
+                       BigDecimal yieldIfConditionsMet,
+                       BigDecimal maximumLossRate,
+                       LocalDate subscriptionStartDate,
+                       LocalDate subscriptionEndDate,
+                       String productFullInfo,
+                       String link,
+                       String remarks,
+                       @NonNull ProductClassification classification,
+                       String fingerprint) {
+        this.rowNum = rowNum;
+        this.issuer = issuer;
+        this.creditRating = creditRating;
+        this.name = name;
+        this.equities = List.copyOf(equities);
+        this.issuedDate = issuedDate;
+        this.maturityDate = maturityDate;
+        this.yieldIfConditionsMet = yieldIfConditionsMet;
+        this.maximumLossRate = maximumLossRate;
+        this.subscriptionStartDate = subscriptionStartDate;
+        this.subscriptionEndDate = subscriptionEndDate;
+        this.productFullInfo = productFullInfo;
+        this.link = link;
+        this.remarks = remarks;
+        this.classification = classification;
+        this.fingerprint = fingerprint;
+    }
+
+    public String getJoinedEquities() {
+        return String.join(" / ", equities);
+    }
+
+    public int getEquityCount() {
+        return equities.size();
+    }
+}
@@ -0,0 +1,49 @@
+package com.wl2c.elswherebatchservice.domain.product.model.dto;
+
+import com.wl2c.elswherebatchservice.domain.product.model.MaturityEvaluationDateType;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 투자설명서에서 추출한 한 회차 상품의 정보
+ */
+@Getter
+@ToString
+public class ProspectusExtraction {
+
+    private final LocalDate initialBasePriceEvaluationDate;
+
+    private final LocalDate maturityEvaluationDate;
+
+    private final MaturityEvaluationDateType maturityEvaluationDateType;
+
+    // 기초자산별 변동성 (찾지 못했다면 null)
+    private final List<String> volatilitiesList;
+
+    // 자동조기상환평가일 (찾지 못했다면 null)
+    private final List<String> earlyRepaymentEvaluationDates;
+
+    @Builder
+    private ProspectusExtraction(LocalDate initialBasePriceEvaluationDate,
+                                 LocalDate maturityEvaluationDate,
+                                 MaturityEvaluationDateType maturityEvaluationDateType,
+                                 List<String> volatilities,
+                                 List<String> earlyRepaymentEvaluationDates) {
+        this.initialBasePriceEvaluationDate = initialBasePriceEvaluationDate;
+        this.maturityEvaluationDate = maturityEvaluationDate;
+        this.maturityEvaluationDateType = maturityEvaluationDateType;
+        this.volatilitiesList = volatilities;
+        this.earlyRepaymentEvaluationDates = earlyRepaymentEvaluationDates;
+    }
+
+    /**
+     * "기초자산명 : 변동성%" 를 " / " 로 이어 붙인 문자열
+     */
+    public String getVolatilities() {
+        return volatilitiesList == null || volatilitiesList.isEmpty() ? null : volatilitiesList.get(0);
+    }
+}
@@ -0,0 +1,40 @@
+package com.wl2c.elswherebatchservice.domain.product.model.dto;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 엑셀 한 행을 준비하면서 생긴 알림과 임시 Ticker
+ *
+ * 준비 단계(트랜잭션 밖)에서는 모아두기만 하고, 임시 Ticker 는 청크 트랜잭션 안에서 저장하고 알림은 커밋된 뒤에 보냄
+ */
+@Getter
+public class RowSideEffects {
+
+    private NewIssuerMessage newIssuerMessage;
+
+    private ProspectusCorrectionReportMessage prospectusCorrectionReportMessage;
+
+    private final List<NewTickerMessage> newTickerMessages = new ArrayList<>();
+
+    // 확인이 필요한 임시 Ticker 를 만들어야 하는 기초자산명
+    private final List<String> temporaryEquities = new ArrayList<>();
+
+    public void newIssuer(NewIssuerMessage newIssuerMessage) {
+        this.newIssuerMessage = newIssuerMessage;
+    }
+
+    public void correctionReport(ProspectusCorrectionReportMessage prospectusCorrectionReportMessage) {
+        this.prospectusCorrectionReportMessage = prospectusCorrectionReportMessage;
+    }
+
+    public void newTicker(NewTickerMessage newTickerMessage) {
+        newTickerMessages.add(newTickerMessage);
+    }
+
+    public void temporaryEquity(String equity) {
+        temporaryEquities.add(equity);
+    }
+}
@@ -0,0 +1,29 @@
+package com.wl2c.elswherebatchservice.domain.product.model.dto;
+
+import com.wl2c.elswherebatchservice.domain.product.model.ProductState;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 저장된 상품의 자연키와 상태
+ */
+@Getter
+@ToString
+public class StoredProductKey {
+
+    private final Long id;
+
+    private final ProductKey key;
+
+    private final ProductState productState;
+
+    public StoredProductKey(Long id, String issuer, String name, ProductState productState) {
+        this.id = id;
+        this.key = new ProductKey(issuer, name);
+        this.productState = productState;
+    }
+
+    public boolean isActive() {
+        return productState == ProductState.ACTIVE;
+    }
+}
@@ -1,6 +1,7 @@
 package com.wl2c.elswherebatchservice.domain.product.model.entity;
 
 import com.wl2c.elswherebatchservice.global.base.BaseEntity;
+import com.wl2c.elswherebatchservice.global.base.IdGeneration;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.AccessLevel;
@@ -16,7 +17,8 @@ import java.time.LocalDate;
 public class EarlyRepaymentEvaluationDates extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "early_repayment_evaluation_dates_seq_generator")
+    @SequenceGenerator(name = "early_repayment_evaluation_dates_seq_generator", sequenceName = "early_repayment_evaluation_dates_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     @Column(name = "early_repayment_evaluation_dates_id")
     private Long id;
 
@@ -0,0 +1,54 @@
+package com.wl2c.elswherebatchservice.domain.product.model.entity;
+
+import com.wl2c.elswherebatchservice.global.base.BaseEntity;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+
+/**
+ * 엑셀 파일(+ KRX 공시 파일)의 해시와 처리 진행 상황
+ *
+ * 중단된 작업은 마지막으로 커밋한 행 다음부터 이어서 처리하고,
+ * 처리를 마친 파일은 다음 실행에서 건너뜀
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ExcelFileFingerprint extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "excel_file_fingerprint_id")
+    private Long id;
+
+    @NotNull
+    @Column(unique = true, length = 64)
+    private String fileHash;
+
+    private int rowCount;
+
+    // 마지막으로 커밋한 엑셀 행 번호 (0 은 헤더)
+    private int lastCommittedRow;
+
+    private boolean completed;
+
+    @Builder
+    private ExcelFileFingerprint(@NonNull String fileHash) {
+        this.fileHash = fileHash;
+        this.lastCommittedRow = 0;
+        this.completed = false;
+    }
+
+    public void checkpoint(int lastCommittedRow) {
+        this.lastCommittedRow = Math.max(this.lastCommittedRow, lastCommittedRow);
+    }
+
+    public void complete(int rowCount) {
+        this.rowCount = rowCount;
+        this.completed = true;
+    }
+}
@@ -0,0 +1,99 @@
+package com.wl2c.elswherebatchservice.domain.product.model.entity;
+
+import com.wl2c.elswherebatchservice.domain.product.model.DeadLetterStage;
+import com.wl2c.elswherebatchservice.domain.product.model.DeadLetterStatus;
+import com.wl2c.elswherebatchservice.global.base.BaseEntity;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+
+import java.time.LocalDateTime;
+
+import static jakarta.persistence.EnumType.STRING;
+
+/**
+ * 처리에 실패한 엑셀 행
+ *
+ * 원본 셀 내용을 그대로 보관하여, 재시도 작업에서 엑셀 파일 없이 해당 행만 다시 처리함
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(indexes = @Index(name = "idx_excel_row_dead_letter_status", columnList = "status, nextAttemptAt"))
+public class ExcelRowDeadLetter extends BaseEntity {
+
+    private static final int MAX_MESSAGE_LENGTH = 1000;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "excel_row_dead_letter_id")
+    private Long id;
+
+    private int rowNum;
+
+    private String productName;
+
+    // 원본 행 내용의 해시
+    @NotNull
+    @Column(length = 64)
+    private String rowHash;
+
+    // 열 번호 -> 셀 값 (JSON)
+    @NotNull
+    @Lob
+    private String payload;
+
+    @NotNull
+    @Enumerated(STRING)
+    private DeadLetterStage stage;
+
+    private String exceptionClass;
+
+    @Column(length = MAX_MESSAGE_LENGTH)
+    private String exceptionMessage;
+
+    private int attempts;
+
+    private LocalDateTime nextAttemptAt;
+
+    @NotNull
+    @Enumerated(STRING)
+    private DeadLetterStatus status;
+
+    @Builder
+    private ExcelRowDeadLetter(int rowNum,
+                               String productName,
+                               @NonNull String rowHash,
+                               @NonNull String payload) {
+        this.rowNum = rowNum;
+        this.productName = productName;
+        this.rowHash = rowHash;
+        this.payload = payload;
+        this.attempts = 0;
+        this.status = DeadLetterStatus.PENDING;
+    }
+
+    public void fail(DeadLetterStage stage, Exception e, LocalDateTime nextAttemptAt) {
+        this.stage = stage;
+        this.exceptionClass = e.getClass().getName();
+        this.exceptionMessage = e.getMessage() == null || e.getMessage().length() <= MAX_MESSAGE_LENGTH
+                ? e.getMessage()
+                : e.getMessage().substring(0, MAX_MESSAGE_LENGTH);
+        this.attempts++;
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public void giveUp() {
+        this.status = DeadLetterStatus.GAVE_UP;
+        this.nextAttemptAt = null;
+    }
+
+    public void resolve() {
+        this.status = DeadLetterStatus.RESOLVED;
+        this.nextAttemptAt = null;
+    }
+}
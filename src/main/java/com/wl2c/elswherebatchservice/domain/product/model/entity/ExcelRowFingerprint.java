@@ -0,0 +1,51 @@
+package com.wl2c.elswherebatchservice.domain.product.model.entity;
+
+import com.wl2c.elswherebatchservice.domain.product.model.dto.ProductKey;
+import com.wl2c.elswherebatchservice.global.base.BaseEntity;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+
+/**
+ * 처리를 마친 엑셀 행(발행회사, 상품명 기준)의 내용 해시
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_excel_row_fingerprint_issuer_product_name", columnNames = {"issuer", "productName"}))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ExcelRowFingerprint extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "excel_row_fingerprint_id")
+    private Long id;
+
+    @NotNull
+    private String issuer;
+
+    @NotNull
+    private String productName;
+
+    @NotNull
+    @Column(length = 64)
+    private String rowHash;
+
+    @Builder
+    private ExcelRowFingerprint(@NonNull String issuer, @NonNull String productName, @NonNull String rowHash) {
+        this.issuer = issuer;
+        this.productName = productName;
+        this.rowHash = rowHash;
+    }
+
+    public ProductKey getKey() {
+        return new ProductKey(issuer, productName);
+    }
+
+    public void updateRowHash(String rowHash) {
+        this.rowHash = rowHash;
+    }
+}
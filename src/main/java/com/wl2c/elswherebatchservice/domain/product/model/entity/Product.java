@@ -1,10 +1,12 @@
 package com.wl2c.elswherebatchservice.domain.product.model.entity;
 
+import com.wl2c.elswherebatchservice.domain.product.model.ExtractedField;
 import com.wl2c.elswherebatchservice.domain.product.model.MaturityEvaluationDateType;
 import com.wl2c.elswherebatchservice.domain.product.model.ProductState;
 import com.wl2c.elswherebatchservice.domain.product.model.ProductType;
 import com.wl2c.elswherebatchservice.domain.product.model.UnderlyingAssetType;
 import com.wl2c.elswherebatchservice.global.base.BaseEntity;
+import com.wl2c.elswherebatchservice.global.base.IdGeneration;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
@@ -18,12 +20,14 @@ import java.util.List;
 import static jakarta.persistence.EnumType.STRING;
 
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_product_issuer_name", columnNames = {"issuer", "name"}))
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Product extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq_generator")
+    @SequenceGenerator(name = "product_seq_generator", sequenceName = "product_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     @Column(name = "product_id")
     private Long id;
 
@@ -96,6 +100,15 @@ public class Product extends BaseEntity {
 
     private LocalDate initialBasePriceEvaluationDate;
 
+    // 투자설명서에서 추출한 항목별 추출기 버전 (추출하지 않았다면 null)
+    private Integer initialBasePriceEvaluationDateVersion;
+
+    private Integer maturityEvaluationDateVersion;
+
+    private Integer volatilitiesVersion;
+
+    private Integer earlyRepaymentEvaluationDatesVersion;
+
     @NotNull
     @ColumnDefault("'INACTIVE'")
     @Enumerated(STRING)
@@ -104,6 +117,9 @@ public class Product extends BaseEntity {
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<ProductTickerSymbol> productTickerSymbols = new ArrayList<>();
 
+    @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, orphanRemoval = true)
+    private List<EarlyRepaymentEvaluationDates> earlyRepaymentEvaluationDatesList = new ArrayList<>();
+
     @Builder
     private Product (@NonNull String issuer,
                      @NonNull String name,
@@ -157,6 +173,99 @@ public class Product extends BaseEntity {
         this.productState = productState;
     }
 
+    /**
+     * 같은 자연키(발행회사, 상품명)로 새로 만든 상품의 정보로 갱신
+     */
+    public void update(Product product) {
+        this.issueNumber = product.issueNumber;
+        this.equities = product.equities;
+        this.equityCount = product.equityCount;
+        this.knockIn = product.knockIn;
+        this.issuedDate = product.issuedDate;
+        this.maturityEvaluationDate = product.maturityEvaluationDate;
+        this.maturityEvaluationDateType = product.maturityEvaluationDateType;
+        this.maturityDate = product.maturityDate;
+        this.yieldIfConditionsMet = product.yieldIfConditionsMet;
+        this.maximumLossRate = product.maximumLossRate;
+        this.subscriptionStartDate = product.subscriptionStartDate;
+        this.subscriptionEndDate = product.subscriptionEndDate;
+        this.type = product.type;
+        this.underlyingAssetType = product.underlyingAssetType;
+        this.productFullInfo = product.productFullInfo;
+        this.productInfo = product.productInfo;
+        this.link = product.link;
+        this.remarks = product.remarks;
+        this.summaryInvestmentProspectusLink = product.summaryInvestmentProspectusLink;
+        this.earlyRepaymentEvaluationDates = product.earlyRepaymentEvaluationDates;
+        this.volatilites = product.volatilites;
+        this.initialBasePriceEvaluationDate = product.initialBasePriceEvaluationDate;
+        this.productState = product.productState;
+        this.initialBasePriceEvaluationDateVersion = product.initialBasePriceEvaluationDateVersion;
+        this.maturityEvaluationDateVersion = product.maturityEvaluationDateVersion;
+        this.volatilitiesVersion = product.volatilitiesVersion;
+        this.earlyRepaymentEvaluationDatesVersion = product.earlyRepaymentEvaluationDatesVersion;
+    }
+
+    /**
+     * 투자설명서에서 추출한 항목들을 현재 추출기 버전으로 기록
+     */
+    public void stampExtractorVersions() {
+        this.initialBasePriceEvaluationDateVersion = ExtractedField.INITIAL_BASE_PRICE_EVALUATION_DATE.getVersion();
+        this.maturityEvaluationDateVersion = ExtractedField.MATURITY_EVALUATION_DATE.getVersion();
+        this.volatilitiesVersion = ExtractedField.VOLATILITIES.getVersion();
+        this.earlyRepaymentEvaluationDatesVersion = ExtractedField.EARLY_REPAYMENT_EVALUATION_DATES.getVersion();
+    }
+
+    public void reextractInitialBasePriceEvaluationDate(LocalDate initialBasePriceEvaluationDate) {
+        this.initialBasePriceEvaluationDate = initialBasePriceEvaluationDate;
+        this.initialBasePriceEvaluationDateVersion = ExtractedField.INITIAL_BASE_PRICE_EVALUATION_DATE.getVersion();
+    }
+
+    public void reextractMaturityEvaluationDate(LocalDate maturityEvaluationDate, MaturityEvaluationDateType maturityEvaluationDateType) {
+        this.maturityEvaluationDate = maturityEvaluationDate;
+        this.maturityEvaluationDateType = maturityEvaluationDateType;
+        this.maturityEvaluationDateVersion = ExtractedField.MATURITY_EVALUATION_DATE.getVersion();
+    }
+
+    public void reextractVolatilities(String volatilites) {
+        this.volatilites = volatilites;
+        this.volatilitiesVersion = ExtractedField.VOLATILITIES.getVersion();
+    }
+
+    /**
+     * 자동조기상환평가일을 새로 추출한 날짜들로 교체 (기존 하위 엔티티는 orphanRemoval 로 삭제)
+     */
+    public void reextractEarlyRepaymentEvaluationDates(String earlyRepaymentEvaluationDates, List<LocalDate> dates) {
+        this.earlyRepaymentEvaluationDates = earlyRepaymentEvaluationDates;
+        this.earlyRepaymentEvaluationDatesList.clear();
+        for (LocalDate date : dates) {
+            this.earlyRepaymentEvaluationDatesList.add(EarlyRepaymentEvaluationDates.builder()
+                    .product(this)
+                    .earlyRepaymentEvaluationDate(date)
+                    .build());
+        }
+        this.earlyRepaymentEvaluationDatesVersion = ExtractedField.EARLY_REPAYMENT_EVALUATION_DATES.getVersion();
+    }
+
+    /**
+     * 하위 엔티티와 id 를 제외한 새 상품 (저장에 실패한 상품을 다시 저장할 때 사용)
+     */
+    public Product copy() {
+        Product product = new Product();
+        product.issuer = this.issuer;
+        product.name = this.name;
+        product.update(this);
+        return product;
+    }
+
+    public void addProductTickerSymbol(ProductTickerSymbol productTickerSymbol) {
+        this.productTickerSymbols.add(productTickerSymbol);
+    }
+
+    public void addEarlyRepaymentEvaluationDates(EarlyRepaymentEvaluationDates earlyRepaymentEvaluationDates) {
+        this.earlyRepaymentEvaluationDatesList.add(earlyRepaymentEvaluationDates);
+    }
+
     public void setInActiveProductState() {
         this.productState = ProductState.INACTIVE;
     }
@@ -33,4 +33,8 @@ public class ProductEquityVolatility extends BaseEntity {
         this.productTickerSymbol = productTickerSymbol;
         this.volatility = volatility;
     }
+
+    public void updateVolatility(BigDecimal volatility) {
+        this.volatility = volatility;
+    }
 }
@@ -1,6 +1,7 @@
 package com.wl2c.elswherebatchservice.domain.product.model.entity;
 
 import com.wl2c.elswherebatchservice.global.base.BaseEntity;
+import com.wl2c.elswherebatchservice.global.base.IdGeneration;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.AccessLevel;
@@ -14,7 +15,8 @@ import lombok.NoArgsConstructor;
 public class ProductTickerSymbol extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_ticker_symbol_seq_generator")
+    @SequenceGenerator(name = "product_ticker_symbol_seq_generator", sequenceName = "product_ticker_symbol_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     @Column(name = "product_ticker_symbol_id")
     private Long id;
 
@@ -29,7 +31,7 @@ public class ProductTickerSymbol extends BaseEntity {
     @NotNull
     private String equityName;
 
-    @OneToOne(mappedBy = "productTickerSymbol")
+    @OneToOne(mappedBy = "productTickerSymbol", cascade = CascadeType.ALL)
     @PrimaryKeyJoinColumn
     private ProductEquityVolatility productEquityVolatility;
 
@@ -39,4 +41,8 @@ public class ProductTickerSymbol extends BaseEntity {
         this.tickerSymbol = tickerSymbol;
         this.equityName = tickerSymbol.getEquityName();
     }
+
+    public void setProductEquityVolatility(ProductEquityVolatility productEquityVolatility) {
+        this.productEquityVolatility = productEquityVolatility;
+    }
 }
@@ -0,0 +1,12 @@
+package com.wl2c.elswherebatchservice.domain.product.repository;
+
+import com.wl2c.elswherebatchservice.domain.product.model.entity.ExcelFileFingerprint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface ExcelFileFingerprintRepository extends JpaRepository<ExcelFileFingerprint, Long> {
+
+    Optional<ExcelFileFingerprint> findByFileHash(String fileHash);
+
+}
@@ -0,0 +1,18 @@
+package com.wl2c.elswherebatchservice.domain.product.repository;
+
+import com.wl2c.elswherebatchservice.domain.product.model.DeadLetterStatus;
+import com.wl2c.elswherebatchservice.domain.product.model.entity.ExcelRowDeadLetter;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface ExcelRowDeadLetterRepository extends JpaRepository<ExcelRowDeadLetter, Long> {
+
+    Optional<ExcelRowDeadLetter> findFirstByRowHashAndStatus(String rowHash, DeadLetterStatus status);
+
+    List<ExcelRowDeadLetter> findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAt(DeadLetterStatus status, LocalDateTime now, Pageable pageable);
+
+}
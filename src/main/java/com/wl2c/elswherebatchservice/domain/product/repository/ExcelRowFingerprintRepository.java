@@ -0,0 +1,8 @@
+package com.wl2c.elswherebatchservice.domain.product.repository;
+
+import com.wl2c.elswherebatchservice.domain.product.model.entity.ExcelRowFingerprint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ExcelRowFingerprintRepository extends JpaRepository<ExcelRowFingerprint, Long> {
+
+}
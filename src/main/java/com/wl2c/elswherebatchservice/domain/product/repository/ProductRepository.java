@@ -1,15 +1,24 @@
 package com.wl2c.elswherebatchservice.domain.product.repository;
 
+import com.wl2c.elswherebatchservice.domain.product.model.dto.ProductExtractionVersions;
+import com.wl2c.elswherebatchservice.domain.product.model.dto.StoredProductKey;
 import com.wl2c.elswherebatchservice.domain.product.model.entity.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 
-import java.util.Optional;
+import java.util.List;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
-    @Query("select p from Product p where p.productState = 'ACTIVE' and p.name = :name ")
-    Optional<Product> findProductByName(@Param("name") String name);
+    @Query("select new com.wl2c.elswherebatchservice.domain.product.model.dto.StoredProductKey(p.id, p.issuer, p.name, p.productState) " +
+            "from Product p ")
+    List<StoredProductKey> findAllProductKeys();
+
+    @Query("select new com.wl2c.elswherebatchservice.domain.product.model.dto.ProductExtractionVersions(" +
+            "p.id, p.issuer, p.name, p.summaryInvestmentProspectusLink, " +
+            "p.initialBasePriceEvaluationDateVersion, p.maturityEvaluationDateVersion, p.volatilitiesVersion, p.earlyRepaymentEvaluationDatesVersion) " +
+            "from Product p " +
+            "where p.summaryInvestmentProspectusLink is not null")
+    List<ProductExtractionVersions> findAllExtractionVersions();
 
 }
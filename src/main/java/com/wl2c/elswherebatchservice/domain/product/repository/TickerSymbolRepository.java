@@ -15,4 +15,6 @@ public interface TickerSymbolRepository extends JpaRepository<TickerSymbol, Long
     @Query("select t from TickerSymbol t where t.equityName = :equityName and t.tickerSymbol = :tickerSymbol")
     Optional<TickerSymbol> findTickerSymbolByEquityNameAndTickerSymbol(@Param("equityName") String equityName,
                                                         @Param("tickerSymbol") String tickerSymbol);
+
+    boolean existsByEquityName(String equityName);
 }
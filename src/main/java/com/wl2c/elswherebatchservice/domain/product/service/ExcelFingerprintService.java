@@ -0,0 +1,142 @@
+package com.wl2c.elswherebatchservice.domain.product.service;
+
+import com.wl2c.elswherebatchservice.domain.product.model.dto.ProductKey;
+import com.wl2c.elswherebatchservice.domain.product.model.dto.ProductRow;
+import com.wl2c.elswherebatchservice.domain.product.model.entity.ExcelFileFingerprint;
+import com.wl2c.elswherebatchservice.domain.product.model.entity.ExcelRowFingerprint;
+import com.wl2c.elswherebatchservice.domain.product.repository.ExcelFileFingerprintRepository;
+import com.wl2c.elswherebatchservice.domain.product.repository.ExcelRowFingerprintRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 직전 실행 대비 변경된 엑셀 행만 처리하기 위한 파일/행 해시 관리
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExcelFingerprintService {
+
+    private final ExcelFileFingerprintRepository excelFileFingerprintRepository;
+    private final ExcelRowFingerprintRepository excelRowFingerprintRepository;
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 파일들의 내용을 순서대로 이어 붙인 SHA-256 해시
+     *
+     * 같은 엑셀 파일이라도 KRX 공시 파일이 바뀌면 투자설명서 링크가 새로 생길 수 있으므로 함께 해시함
+     */
+    public String hashFiles(File... files) throws IOException {
+        MessageDigest digest = newDigest();
+        for (File file : files) {
+            if (!file.exists())  continue;
+
+            try (InputStream inputStream = new DigestInputStream(Files.newInputStream(file.toPath()), digest)) {
+                inputStream.transferTo(OutputStream.nullOutputStream());
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    public boolean isAlreadyIngested(String fileHash) {
+        boolean ingested = excelFileFingerprintRepository.findByFileHash(fileHash)
+                .map(ExcelFileFingerprint::isCompleted)
+                .orElse(false);
+        if (ingested) {
+            meterRegistry.counter("batch.excel.files.skipped").increment();
+        }
+        return ingested;
+    }
+
+    /**
+     * 처음 처리하는 파일이라면 새로 기록하고, 중단되었던 파일이라면 기존 진행 상황을 반환
+     */
+    public ExcelFileFingerprint startOrResume(String fileHash) {
+        return excelFileFingerprintRepository.findByFileHash(fileHash)
+                .orElseGet(() -> excelFileFingerprintRepository.save(ExcelFileFingerprint.builder()
+                        .fileHash(fileHash)
+                        .build()));
+    }
+
+    // 청크 트랜잭션 안에서 호출
+    public void checkpoint(Long fileFingerprintId, int lastCommittedRow) {
+        excelFileFingerprintRepository.findById(fileFingerprintId)
+                .ifPresent(fingerprint -> fingerprint.checkpoint(lastCommittedRow));
+    }
+
+    @Transactional
+    public void complete(Long fileFingerprintId, int rowCount) {
+        excelFileFingerprintRepository.findById(fileFingerprintId)
+                .ifPresent(fingerprint -> fingerprint.complete(rowCount));
+    }
+
+    /**
+     * 직전 실행까지 처리를 마친 행들의 해시 ((발행회사, 상품명) -> 해시)
+     */
+    public Map<ProductKey, ExcelRowFingerprint> loadRowFingerprints() {
+        return excelRowFingerprintRepository.findAll().stream()
+                .collect(Collectors.toMap(ExcelRowFingerprint::getKey, Function.identity(), (a, b) -> a, ConcurrentHashMap::new));
+    }
+
+    public boolean isUnchanged(Map<ProductKey, ExcelRowFingerprint> rowFingerprints, ProductRow row) {
+        ExcelRowFingerprint fingerprint = rowFingerprints.get(keyOf(row));
+        return fingerprint != null && Objects.equals(fingerprint.getRowHash(), row.getFingerprint());
+    }
+
+    /**
+     * 행 해시를 저장 (청크 트랜잭션 안에서 호출)
+     *
+     * 트랜잭션이 롤백될 수 있으므로 rowFingerprints 는 변경하지 않으며, 커밋 후 반환값으로 갱신해야 함
+     */
+    public ExcelRowFingerprint saveRowFingerprint(Map<ProductKey, ExcelRowFingerprint> rowFingerprints, ProductRow row) {
+        ExcelRowFingerprint fingerprint = rowFingerprints.get(keyOf(row));
+        if (fingerprint == null) {
+            return excelRowFingerprintRepository.save(ExcelRowFingerprint.builder()
+                    .issuer(row.getIssuer())
+                    .productName(row.getName())
+                    .rowHash(row.getFingerprint())
+                    .build());
+        }
+        if (Objects.equals(fingerprint.getRowHash(), row.getFingerprint()))  return fingerprint;
+
+        ExcelRowFingerprint managedFingerprint = excelRowFingerprintRepository.findById(fingerprint.getId())
+                .orElseThrow(() -> new IllegalStateException("Row fingerprint not found : " + fingerprint.getProductName()));
+        managedFingerprint.updateRowHash(row.getFingerprint());
+        return managedFingerprint;
+    }
+
+    public void recordSkippedRows(int skippedRows) {
+        meterRegistry.counter("batch.excel.rows.skipped", "reason", "unchanged").increment(skippedRows);
+    }
+
+    private static ProductKey keyOf(ProductRow row) {
+        return new ProductKey(row.getIssuer(), row.getName());
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.wl2c.elswherebatchservice.domain.product.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wl2c.elswherebatchservice.domain.product.model.DeadLetterStage;
+import com.wl2c.elswherebatchservice.domain.product.model.DeadLetterStatus;
+import com.wl2c.elswherebatchservice.domain.product.model.entity.ExcelRowDeadLetter;
+import com.wl2c.elswherebatchservice.domain.product.repository.ExcelRowDeadLetterRepository;
+import com.wl2c.elswherebatchservice.domain.product.service.excel.ExcelRow;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 처리에 실패한 엑셀 행의 기록과 재시도 일정 관리
+ *
+ * 재시도 간격은 실패할 때마다 두 배씩 늘어나며(최대 max-backoff), max-attempts 를 넘기면 포기함
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExcelRowDeadLetterService {
+
+    private static final TypeReference<Map<Integer, String>> CELLS_TYPE = new TypeReference<>() {};
+
+    @Value("${batch.dead-letter.initial-backoff:10m}")
+    private Duration initialBackoff;
+
+    @Value("${batch.dead-letter.max-backoff:24h}")
+    private Duration maxBackoff;
+
+    @Value("${batch.dead-letter.max-attempts:6}")
+    private int maxAttempts;
+
+    private final ExcelRowDeadLetterRepository excelRowDeadLetterRepository;
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 실패한 행을 기록 (같은 내용의 행이 이미 대기 중이라면 실패 횟수만 늘림)
+     *
+     * @param productName 엑셀 행 해석 전에 실패했다면 null
+     */
+    @Transactional
+    public void record(ExcelRow row, String productName, DeadLetterStage stage, Exception e) {
+        log.warn((row.getRowNum() + 1) + " 번째 행(" + productName + ") 처리 실패 [" + stage + "] : " + e);
+
+        String rowHash = row.contentHash();
+        ExcelRowDeadLetter deadLetter = excelRowDeadLetterRepository.findFirstByRowHashAndStatus(rowHash, DeadLetterStatus.PENDING)
+                .orElseGet(() -> excelRowDeadLetterRepository.save(ExcelRowDeadLetter.builder()
+                        .rowNum(row.getRowNum())
+                        .productName(productName)
+                        .rowHash(rowHash)
+                        .payload(toPayload(row))
+                        .build()));
+        fail(deadLetter, stage, e);
+    }
+
+    /**
+     * 재시도 중 다시 실패
+     */
+    @Transactional
+    public void retryFailed(Long deadLetterId, DeadLetterStage stage, Exception e) {
+        log.warn("실패한 행 재시도 실패 (" + deadLetterId + ") [" + stage + "] : " + e);
+        excelRowDeadLetterRepository.findById(deadLetterId)
+                .ifPresent(deadLetter -> fail(deadLetter, stage, e));
+    }
+
+    @Transactional
+    public void resolve(Long deadLetterId) {
+        excelRowDeadLetterRepository.findById(deadLetterId)
+                .ifPresent(ExcelRowDeadLetter::resolve);
+        meterRegistry.counter("batch.excel.dead_letters.resolved").increment();
+    }
+
+    public List<ExcelRowDeadLetter> findRetryable(int limit) {
+        return excelRowDeadLetterRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAt(
+                DeadLetterStatus.PENDING, LocalDateTime.now(), PageRequest.of(0, limit));
+    }
+
+    public ExcelRow toExcelRow(ExcelRowDeadLetter deadLetter) {
+        try {
+            return new ExcelRow(deadLetter.getRowNum(), objectMapper.readValue(deadLetter.getPayload(), CELLS_TYPE));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Invalid dead letter payload : " + deadLetter.getId(), e);
+        }
+    }
+
+    private void fail(ExcelRowDeadLetter deadLetter, DeadLetterStage stage, Exception e) {
+        meterRegistry.counter("batch.excel.rows.dead_lettered", "stage", stage.name()).increment();
+
+        deadLetter.fail(stage, e, LocalDateTime.now().plus(backoff(deadLetter.getAttempts() + 1)));
+        if (deadLetter.getAttempts() >= maxAttempts) {
+            log.error(deadLetter.getProductName() + " : 최대 재시도 횟수를 초과하여 재시도하지 않음");
+            deadLetter.giveUp();
+        }
+    }
+
+    // initialBackoff * 2^(attempts - 1), 최대 maxBackoff
+    private Duration backoff(int attempts) {
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+
+    private String toPayload(ExcelRow row) {
+        try {
+            return objectMapper.writeValueAsString(row.getCells());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
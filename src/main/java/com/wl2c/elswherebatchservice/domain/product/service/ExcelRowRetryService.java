@@ -0,0 +1,98 @@
+package com.wl2c.elswherebatchservice.domain.product.service;
+
+import com.wl2c.elswherebatchservice.domain.product.model.DeadLetterStage;
+import com.wl2c.elswherebatchservice.domain.product.model.dto.PreparedProduct;
+import com.wl2c.elswherebatchservice.domain.product.model.dto.ProductKey;
+import com.wl2c.elswherebatchservice.domain.product.model.dto.ProductRow;
+import com.wl2c.elswherebatchservice.domain.product.model.entity.ExcelRowDeadLetter;
+import com.wl2c.elswherebatchservice.domain.product.model.entity.ExcelRowFingerprint;
+import com.wl2c.elswherebatchservice.domain.product.model.entity.Product;
+import com.wl2c.elswherebatchservice.domain.product.model.entity.TickerSymbol;
+import com.wl2c.elswherebatchservice.domain.product.repository.ProductRepository;
+import com.wl2c.elswherebatchservice.domain.product.service.excel.ExcelRow;
+import com.wl2c.elswherebatchservice.domain.product.service.excel.ProductRowDecoder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 처리에 실패한 엑셀 행만 다시 처리
+ *
+ * 엑셀 파일 전체를 다시 읽지 않고, 재시도 시각이 된 행을 한 번에 retry-limit 개씩 처리함
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExcelRowRetryService {
+
+    @Value("${batch.dead-letter.retry-limit:20}")
+    private int retryLimit;
+
+    private final ProductRepository productRepository;
+
+    private final ExcelRowDeadLetterService excelRowDeadLetterService;
+    private final ExcelFingerprintService excelFingerprintService;
+    private final ProductRowProcessor productRowProcessor;
+    private final ProductRowDecoder productRowDecoder;
+    private final ProductWriteJobLock productWriteJobLock;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public void retryFailedRows() {
+        if (!productWriteJobLock.tryAcquire("dead-letter-retry")) {
+            log.info(productWriteJobLock.getRunningJob().orElse("다른") + " 작업이 실행 중이므로 실패한 행 재시도를 다음 실행으로 미룸");
+            return;
+        }
+        try {
+            retry();
+        } finally {
+            productWriteJobLock.release();
+        }
+    }
+
+    private void retry() {
+        List<ExcelRowDeadLetter> deadLetters = excelRowDeadLetterService.findRetryable(retryLimit);
+        if (deadLetters.isEmpty())  return;
+
+        log.info("실패한 행 " + deadLetters.size() + " 개 재시도");
+
+        Map<ProductKey, ExcelRowFingerprint> rowFingerprints = excelFingerprintService.loadRowFingerprints();
+        ProductKeyIndex productKeyIndex = ProductKeyIndex.of(productRepository.findAllProductKeys());
+
+        for (ExcelRowDeadLetter deadLetter : deadLetters) {
+            DeadLetterStage stage = DeadLetterStage.DECODE;
+            try {
+                ExcelRow row = excelRowDeadLetterService.toExcelRow(deadLetter);
+                ProductRow productRow = productRowDecoder.decode(row);
+
+                stage = DeadLetterStage.PREPARE;
+                PreparedProduct prepared = productRowProcessor.prepare(productRow, productKeyIndex);
+
+                stage = DeadLetterStage.WRITE;
+                List<TickerSymbol> temporaryTickerSymbols = new ArrayList<>();
+                Product product = transactionTemplate.execute(status -> {
+                    if (prepared.getResult().isCompleted()) {
+                        excelFingerprintService.saveRowFingerprint(rowFingerprints, productRow);
+                    }
+                    temporaryTickerSymbols.addAll(productRowProcessor.saveTemporaryTickerSymbols(prepared));
+                    return prepared.isWritable() ? productRowProcessor.write(prepared) : null;
+                });
+                if (product != null) {
+                    productKeyIndex.put(product);
+                }
+                productRowProcessor.publish(prepared, temporaryTickerSymbols);
+
+                excelRowDeadLetterService.resolve(deadLetter.getId());
+            } catch (IOException | RuntimeException e) {
+                excelRowDeadLetterService.retryFailed(deadLetter.getId(), stage, e);
+            }
+        }
+    }
+}
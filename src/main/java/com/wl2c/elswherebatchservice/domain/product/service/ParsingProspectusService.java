@@ -1,17 +1,30 @@
 package com.wl2c.elswherebatchservice.domain.product.service;
 
 import com.wl2c.elswherebatchservice.domain.product.model.MaturityEvaluationDateType;
-import com.wl2c.elswherebatchservice.domain.product.model.dto.ProspectusCorrectionReportMessage;
+import com.wl2c.elswherebatchservice.domain.product.model.dto.ProspectusExtraction;
+import com.wl2c.elswherebatchservice.domain.product.service.prospectus.ProspectusFetcher;
+import com.wl2c.elswherebatchservice.domain.product.service.prospectus.ProspectusIndex;
+import com.wl2c.elswherebatchservice.domain.product.service.prospectus.ProspectusStore;
+import com.wl2c.elswherebatchservice.domain.product.service.prospectus.ProspectusStreamParser;
+import com.wl2c.elswherebatchservice.domain.product.service.prospectus.issuer.IssuerExtractionStrategy;
+import com.wl2c.elswherebatchservice.domain.product.service.prospectus.issuer.IssuerExtractionStrategyRegistry;
+import com.wl2c.elswherebatchservice.global.util.RegexTimeLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.jsoup.Jsoup;
+import org.jsoup.HttpStatusException;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.QueryParser;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
-import java.net.SocketTimeoutException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
@@ -23,61 +36,130 @@ import java.util.regex.Pattern;
 @Slf4j
 public class ParsingProspectusService {
 
-    private final ProspectusCorrectionReportMessageSender prospectusCorrectionReportMessageSender;
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy년 MM월 dd일");
 
+    private static final Pattern TURN_DATE_PATTERN = Pattern.compile("\\d+차: \\d{4}년 \\d{2}월 \\d{2}일");
+    private static final Pattern VOLATILITY_PATTERN = Pattern.compile("-?\\s*\\[?([\\w가-힣&()0-9.,\\s]+?)]?\\s*:\\s*(변동성(?:지수)?\\s*)?([\\d.]+)%");
+    private static final Pattern SESSION_PATTERN = Pattern.compile("(?<=\\s|제|회|호|^)\\d+(?=\\s|제|회|호|$)");
+    private static final Pattern SESSION_RANGE_PATTERN = Pattern.compile("\\d+-\\d+");
+
+    // 표지의 발행회사 행 (회차 목록이 있음)
+    private static final Evaluator ISSUER_ROW = QueryParser.parse("tr:has(td:matchesOwn(주식회사|증권|증\\s권|주\\s식\\s회\\s사))");
+
+    @Value("${batch.prospectus.revalidate-after:PT12H}")
+    private Duration revalidateAfter;
+
+    private final ProspectusStore prospectusStore;
+    private final ProspectusFetcher prospectusFetcher;
+    private final ProspectusStreamParser prospectusStreamParser;
+    private final IssuerExtractionStrategyRegistry issuerExtractionStrategyRegistry;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 투자설명서를 받아옴
+     *
+     * 디스크에 저장된 문서가 있다면 재검증 주기 안에서는 그대로 사용하고, 주기가 지났다면
+     * If-None-Match / If-Modified-Since 로 조건부 요청을 보내 변경된 경우에만 본문을 다시 받음 (문서 전체를 저장한 경우에만)
+     */
     public Document fetchDocument(String url) throws IOException {
 
-        int retries = 3;
-        while (retries > 0) {
-            try {
-                return Jsoup.connect(url)
-                        .userAgent("Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/14.1.1 Safari/605.1.15")
-                        .timeout(10000)
-                        .maxBodySize(0)
-                        .get();
-            } catch (SocketTimeoutException e) {
-                retries--;
-                if (retries == 0) {
-                    throw e;
-                }
-                log.info("Retrying... attempts left: " + retries);
+        Optional<ProspectusStore.Metadata> stored = prospectusStore.findMetadata(url);
+        if (stored.isPresent() && stored.get().validatedAt().plus(revalidateAfter).isAfter(Instant.now())) {
+            meterRegistry.counter("batch.prospectus.fetch", "result", "stored").increment();
+            return parseStored(stored.get());
+        }
+        return download(url, stored);
+    }
+
+    /**
+     * 디스크에 저장된 투자설명서를 사용 (재처리용, 네트워크로 받아오지 않음)
+     *
+     * 종료 표지에서 멈춘 문서는 추출에 필요한 부분이 모두 있으므로 그대로 사용하고, 최대 크기에서 잘린 문서는 건너뜀
+     */
+    public Optional<Document> loadStoredDocument(String url) throws IOException {
+        Optional<ProspectusStore.Metadata> stored = prospectusStore.findMetadata(url);
+        if (stored.isEmpty())  return Optional.empty();
+        if (stored.get().truncated()) {
+            log.info("최대 크기에서 잘린 투자설명서는 재추출하지 않음 : " + url);
+            return Optional.empty();
+        }
+        return Optional.of(parseStored(stored.get()));
+    }
+
+    private Document download(String url, Optional<ProspectusStore.Metadata> stored) throws IOException {
+        // ETag / Last-Modified 는 문서 전체에 대한 값이므로, 앞부분만 저장한 문서는 304 를 받더라도 그대로 쓸 수 없음
+        Optional<ProspectusStore.Metadata> revalidatable = stored.filter(ProspectusStore.Metadata::complete);
+
+        // 필요한 부분까지만 읽고 응답을 닫으므로 문서의 뒷부분은 내려받지 않음 (본문을 읽다가 실패하면 요청부터 다시 시도)
+        Downloaded downloaded = prospectusFetcher.fetch(url,
+                revalidatable.map(ProspectusStore.Metadata::etag).orElse(null),
+                revalidatable.map(ProspectusStore.Metadata::lastModified).orElse(null),
+                response -> response.isNotModified()
+                        ? null
+                        : new Downloaded(response.etag(), response.lastModified(),
+                                prospectusStreamParser.parse(response.body(), response.charset(), url)));
+
+        if (downloaded == null) {
+            if (revalidatable.isEmpty()) {
+                throw new HttpStatusException("Unexpected response fetching URL", 304, url);
             }
+            meterRegistry.counter("batch.prospectus.fetch", "result", "not_modified").increment();
+            return parseStored(prospectusStore.revalidated(revalidatable.get()));
         }
 
-        return null;
+        meterRegistry.counter("batch.prospectus.fetch", "result", "downloaded").increment();
+        ProspectusStreamParser.Parsed parsed = downloaded.parsed();
+        prospectusStore.save(url, downloaded.etag(), downloaded.lastModified(), parsed.charset(), parsed.body(), parsed.complete(), parsed.truncated());
+        return parsed.document();
+    }
+
+    private Document parseStored(ProspectusStore.Metadata metadata) throws IOException {
+        try (InputStream body = prospectusStore.openBody(metadata)) {
+            return prospectusStreamParser.parse(body, metadata.charset(), metadata.url()).document();
+        }
     }
 
     // 정정신고
-    public void findIsCorrectionReport(String name, String prospectusLink, Document document) throws IOException {
-        Elements pTags = document.select("p");
+    public boolean isCorrectionReport(ProspectusIndex prospectus) {
 
         // p tag
-        for (Element pTag : pTags) {
-            if (pTag.text().contains("정 정 신 고") || pTag.text().contains("정 정 보 고") || pTag.text().contains("정정사항") || pTag.text().contains("정정대상")) {
-                ProspectusCorrectionReportMessage prospectusCorrectionReportMessage = ProspectusCorrectionReportMessage.builder()
-                        .productName(name)
-                        .prospectusLink(prospectusLink)
-                        .build();
-
-                prospectusCorrectionReportMessageSender.send("prospectus-correction-report-alert", prospectusCorrectionReportMessage);
-                log.warn("상품명 " + name + " : 투자설명서 정정신고된 상품");
-                break;
+        for (ProspectusIndex.Paragraph paragraph : prospectus.getParagraphs()) {
+            String text = paragraph.getText();
+            if (text.contains("정 정 신 고") || text.contains("정 정 보 고") || text.contains("정정사항") || text.contains("정정대상")) {
+                return true;
             }
         }
+        return false;
+
+    }
 
+    /**
+     * 해당 회차 상품에 대한 투자설명서 추출 결과
+     *
+     * 문서 단위 추출(표/문단 파싱)과 회차 위치는 문서마다 한 번만 계산하고, 결과는 (문서, 회차) 마다 재사용
+     */
+    public ProspectusExtraction extract(String issuer, String targetProductSession, ProspectusIndex prospectus) {
+        return prospectus.memoize("extraction:" + issuer + ":" + targetProductSession, () -> ProspectusExtraction.builder()
+                .initialBasePriceEvaluationDate(findInitialBasePriceEvaluationDate(issuer, targetProductSession, prospectus))
+                .maturityEvaluationDate(findMaturityEvaluationDate(issuer, targetProductSession, prospectus))
+                .maturityEvaluationDateType(findMaturityEvaluationDateCount(issuer, targetProductSession, prospectus))
+                .volatilities(findVolatilities(targetProductSession, prospectus))
+                .earlyRepaymentEvaluationDates(findEarlyRepaymentEvaluationDates(targetProductSession, prospectus))
+                .build());
     }
 
     // 최초기준가격평가일(최초기준가격 결정일)
-    public LocalDate findInitialBasePriceEvaluationDate(String issuer, String targetProductSession, Document document) throws IOException {
-        if (targetProductSession != null && document != null) {
+    public LocalDate findInitialBasePriceEvaluationDate(String issuer, String targetProductSession, ProspectusIndex prospectus) {
+        if (targetProductSession != null && prospectus != null) {
 
             // 투자 설명서에서 해당 회차 상품이 몇 번째인지
-            int number = findLocationOfProduct(targetProductSession, document);
+            int number = locate(targetProductSession, prospectus);
 
             // 투자 설명서에서 모든 최초기준가격평가일 파싱
-            List<String> initialBasePriceEvaluationDateList = findInitialBasePriceEvaluationDateList(issuer, document);
+            List<String> initialBasePriceEvaluationDateList = prospectus.memoize("initialBasePriceEvaluationDate:" + issuer,
+                    () -> RegexTimeLimiter.orElse("initialBasePriceEvaluationDate", () -> findInitialBasePriceEvaluationDateList(issuer, prospectus), null));
 
-            if (initialBasePriceEvaluationDateList == null || initialBasePriceEvaluationDateList.isEmpty()) {
+            if (initialBasePriceEvaluationDateList == null || number < 1 || number > initialBasePriceEvaluationDateList.size()) {
                 return null;
             }
 
@@ -90,16 +172,17 @@ public class ParsingProspectusService {
     }
 
     // 만기평가일(만기상환평가일)
-    public LocalDate findMaturityEvaluationDate(String issuer, String targetProductSession, Document document) throws IOException {
-        if (targetProductSession != null && document != null) {
+    public LocalDate findMaturityEvaluationDate(String issuer, String targetProductSession, ProspectusIndex prospectus) {
+        if (targetProductSession != null && prospectus != null) {
 
             // 투자 설명서에서 해당 회차 상품이 몇 번째인지
-            int number = findLocationOfProduct(targetProductSession, document);
+            int number = locate(targetProductSession, prospectus);
 
             // 투자 설명서에서 모든 만기평가일 파싱
-            List<String> MaturityEvaluationDateList = findMaturityEvaluationDateList(issuer, document);
+            List<String> MaturityEvaluationDateList = prospectus.memoize("maturityEvaluationDate:" + issuer,
+                    () -> RegexTimeLimiter.orElse("maturityEvaluationDate", () -> findMaturityEvaluationDateList(issuer, prospectus), null));
 
-            if (MaturityEvaluationDateList == null || MaturityEvaluationDateList.isEmpty() || number < 0) {
+            if (MaturityEvaluationDateList == null || number < 1 || number > MaturityEvaluationDateList.size()) {
                 return null;
             }
 
@@ -112,16 +195,17 @@ public class ParsingProspectusService {
     }
 
     // 만기평가일(만기상환평가일) 개수
-    public MaturityEvaluationDateType findMaturityEvaluationDateCount(String issuer, String targetProductSession, Document document) throws IOException {
-        if (targetProductSession != null && document != null) {
+    public MaturityEvaluationDateType findMaturityEvaluationDateCount(String issuer, String targetProductSession, ProspectusIndex prospectus) {
+        if (targetProductSession != null && prospectus != null) {
 
             // 투자 설명서에서 해당 회차 상품이 몇 번째인지
-            int number = findLocationOfProduct(targetProductSession, document);
+            int number = locate(targetProductSession, prospectus);
 
             // 투자 설명서에서 모든 만기평가일 파싱
-            List<MaturityEvaluationDateType> MaturityEvaluationDateCountList = findMaturityEvaluationDateCountList(issuer, document);
+            List<MaturityEvaluationDateType> MaturityEvaluationDateCountList = prospectus.memoize("maturityEvaluationDateCount:" + issuer,
+                    () -> RegexTimeLimiter.orElse("maturityEvaluationDateCount", () -> findMaturityEvaluationDateCountList(issuer, prospectus), null));
 
-            if (MaturityEvaluationDateCountList == null || MaturityEvaluationDateCountList.isEmpty() || number < 0) {
+            if (MaturityEvaluationDateCountList == null || number < 1 || number > MaturityEvaluationDateCountList.size()) {
                 return MaturityEvaluationDateType.UNKNOWN;
             }
 
@@ -133,14 +217,15 @@ public class ParsingProspectusService {
     }
 
     // 기초자산가격 변동성
-    public List<String> findVolatilities(String targetProductSession, Document document) throws IOException {
-        if (targetProductSession != null && document != null) {
+    public List<String> findVolatilities(String targetProductSession, ProspectusIndex prospectus) {
+        if (targetProductSession != null && prospectus != null) {
 
             // 투자 설명서에서 해당 회차 상품이 몇 번째인지
-            int number = findLocationOfProduct(targetProductSession, document);
+            int number = locate(targetProductSession, prospectus);
 
             // 투자 설명서에서 모든 기초자산가격 파싱
-            List<List<String>> volatilitiesList = findVolatilitiesList(document);
+            List<List<String>> volatilitiesList = prospectus.memoize("volatilities",
+                    () -> RegexTimeLimiter.orElse("volatilities", () -> findVolatilitiesList(prospectus), List.of()));
 
             // 해당 회차 상품의 기초자산가격 변동성
             if (volatilitiesList.size() >= number && number > 0) {
@@ -155,14 +240,15 @@ public class ParsingProspectusService {
     }
 
     // 자동조기상환평가일
-    public List<String> findEarlyRepaymentEvaluationDates(String targetProductSession, Document document) throws IOException {
-        if (targetProductSession != null && document != null) {
+    public List<String> findEarlyRepaymentEvaluationDates(String targetProductSession, ProspectusIndex prospectus) {
+        if (targetProductSession != null && prospectus != null) {
 
             // 투자 설명서에서 해당 회차 상품이 몇 번째인지
-            int number = findLocationOfProduct(targetProductSession, document);
+            int number = locate(targetProductSession, prospectus);
 
             // 투자 설명서에서 모든 자동조기상환평가일 파싱
-            List<List<String>> earlyRepaymentEvaluationDateList = findEarlyRepaymentEvaluationDatesList(document);
+            List<List<String>> earlyRepaymentEvaluationDateList = prospectus.memoize("earlyRepaymentEvaluationDates",
+                    () -> RegexTimeLimiter.orElse("earlyRepaymentEvaluationDates", () -> findEarlyRepaymentEvaluationDatesList(prospectus), List.of()));
 
             // 해당 회차 상품의 자동조기상환평가일
             if (earlyRepaymentEvaluationDateList.size() >= number && number > 0) {
@@ -176,7 +262,7 @@ public class ParsingProspectusService {
         }
     }
 
-    private List<List<String>> findEarlyRepaymentEvaluationDatesList(Document doc) {
+    private List<List<String>> findEarlyRepaymentEvaluationDatesList(ProspectusIndex prospectus) {
 
         List<List<String>> result = new ArrayList<>();
 
@@ -184,70 +270,58 @@ public class ParsingProspectusService {
         List<String> optionalKeywords = List.of("차수", "차 수      ", "차 수", "상환금액", "상환금액(USD)(세전)", "상환금액(세전)");
         String midKeyword = "중간기준가격 결정일";
 
-        Elements tables = doc.select("table");
-
-        for (Element table : tables) {
-            List<List<String>> tableData = new ArrayList<>();
-            Elements rows = table.select("tr");
-
-            for (Element row : rows) {
-                List<String> rowData = new ArrayList<>();
-                Elements cells = row.select("th, td");
-
-                for (Element cell : cells) {
-                    rowData.add(cell.text().strip());
-                }
-
-                tableData.add(rowData);
-            }
-
-            if (!tableData.isEmpty()) {
-                List<String> header = tableData.get(0);
-                boolean hasAllKeywords = new HashSet<>(header).containsAll(keywords);
-                boolean hasAnyOptionalKeywords = optionalKeywords.stream().anyMatch(header::contains);
-
-                if (hasAllKeywords && hasAnyOptionalKeywords) {
-                    List<String> formattedRow = new ArrayList<>();
-                    for (int j = 1; j < tableData.size(); j++) {
-                        List<String> row = tableData.get(j);
-                        if (row.size() < 2 || !(row.get(1).contains("년") && row.get(1).contains("월") && row.get(1).contains("일"))) continue;
-
-                        // 동일한 날짜의 형태인 1-1차 2-2차에 대해서 우선은 문자열 통일
-                        if (Arrays.stream(row.get(0).split("-")).count() == 2) {
-                            formattedRow.add(row.get(0).split("-")[0] + "차" + ": " + row.get(1));
-                        } else {
-                            formattedRow.add(row.get(0) + ": " + row.get(1));
-                        }
+        for (ProspectusIndex.Table table : prospectus.getTables()) {
+            if (table.isEmpty())    continue;
+
+            List<ProspectusIndex.Row> tableData = table.getRows();
+            List<String> header = tableData.get(0).getCells();
+            boolean hasAllKeywords = new HashSet<>(header).containsAll(keywords);
+            boolean hasAnyOptionalKeywords = optionalKeywords.stream().anyMatch(header::contains);
+
+            if (hasAllKeywords && hasAnyOptionalKeywords) {
+                List<String> formattedRow = new ArrayList<>();
+                for (int j = 1; j < tableData.size(); j++) {
+                    List<String> row = tableData.get(j).getCells();
+                    if (row.size() < 2 || !(row.get(1).contains("년") && row.get(1).contains("월") && row.get(1).contains("일"))) continue;
+
+                    // 동일한 날짜의 형태인 1-1차 2-2차에 대해서 우선은 문자열 통일
+                    if (Arrays.stream(row.get(0).split("-")).count() == 2) {
+                        formattedRow.add(row.get(0).split("-")[0] + "차" + ": " + row.get(1));
+                    } else {
+                        formattedRow.add(row.get(0) + ": " + row.get(1));
                     }
-                    result.add(formattedRow);
-                } else {
-                    for (List<String> row : tableData) {
-                        String title = row.get(0);
-                        if (title.contains(midKeyword) && row.size() == 2) {
-                            String body = row.get(1);
-                            Matcher matcher = Pattern.compile("\\d+차: \\d{4}년 \\d{2}월 \\d{2}일").matcher(body);
-                            List<String> dates = new ArrayList<>();
-
-                            if (title.contains("월수익 중간기준가격 결정일")) {
-                                // 월지급식의 자동조기상환가격 결정일
-                                int idx = 1, turn = 1;
-                                while (matcher.find()) {
-                                    if (idx % 6 == 0) {
-                                        String originalMatch = matcher.group();
-                                        String updatedMatch = originalMatch.replaceFirst("\\d+차", turn + "차");
-                                        dates.add(updatedMatch);
-                                        turn++;
-                                    }
-                                    idx++;
-                                }
-                            } else {
-                                while (matcher.find()) {
-                                    dates.add(matcher.group());
+                }
+                result.add(formattedRow);
+            } else {
+                for (ProspectusIndex.Row tableRow : tableData) {
+                    List<String> row = tableRow.getCells();
+                    if (row.isEmpty())  continue;
+
+                    String title = row.get(0);
+                    if (title.contains(midKeyword) && row.size() == 2) {
+                        String body = row.get(1);
+                        Matcher matcher = RegexTimeLimiter.matcher(TURN_DATE_PATTERN, body);
+                        List<String> dates = new ArrayList<>();
+
+                        if (title.contains("월수익 중간기준가격 결정일")) {
+                            // 월지급식의 자동조기상환가격 결정일
+                            int idx = 1, turn = 1;
+                            while (matcher.find()) {
+                                if (idx % 6 == 0) {
+                                    String originalMatch = matcher.group();
+                                    String updatedMatch = originalMatch.replaceFirst("\\d+차", turn + "차");
+                                    dates.add(updatedMatch);
+                                    turn++;
                                 }
+                                idx++;
+                            }
+                        } else {
+                            while (matcher.find()) {
+                                dates.add(matcher.group());
                             }
-                            result.add(dates);
-                            break;
                         }
+                        result.add(dates);
+                        break;
                     }
                 }
             }
@@ -256,143 +330,48 @@ public class ParsingProspectusService {
         return result;
     }
 
-    public List<List<String>> findVolatilitiesList(Document doc) {
+    public List<List<String>> findVolatilitiesList(ProspectusIndex prospectus) {
         List<List<String>> result = new ArrayList<>();
 
         List<String> keywords = List.of("항목", "항 목", "항  목", "항    목", "내용", "내 용", "내  용", "내   용", "내      용");
 
-        Elements tables = doc.select("table");
-
-        for (Element table : tables) {
-            List<List<String>> tableData = new ArrayList<>();
-            Elements rows = table.select("tr");
-
-            for (Element row : rows) {
-                List<String> rowData = new ArrayList<>();
-                Elements cells = row.select("th, td");
+        for (ProspectusIndex.Table table : prospectus.getTables()) {
+            if (table.isEmpty())    continue;
 
-                for (Element cell : cells) {
-                    rowData.add(cell.text().strip());
-                }
-
-                tableData.add(rowData);
-            }
+            List<ProspectusIndex.Row> tableData = table.getRows();
+            List<String> header = tableData.get(0).getCells();
+            boolean hasAnyKeywords = keywords.stream().anyMatch(header::contains);
 
-            if (!tableData.isEmpty()) {
-                List<String> header = tableData.get(0);
-                boolean hasAnyKeywords = keywords.stream().anyMatch(header::contains);
+            if (hasAnyKeywords) {
+                for (int j = 1; j < tableData.size(); j++) {
+                    List<String> row = tableData.get(j).getCells();
+                    if (!row.isEmpty() && row.get(0).equals("기초자산가격 변동성")) {
 
-                if (hasAnyKeywords) {
-                    for (int j = 1; j < tableData.size(); j++) {
-                        List<String> row = tableData.get(j);
-                        if (row.get(0).equals("기초자산가격 변동성")) {
+                        List<String> formattedRow = new ArrayList<>();
+                        Matcher matcher = RegexTimeLimiter.matcher(VOLATILITY_PATTERN, row.get(1));
+                        StringBuilder reconstitution = new StringBuilder();
 
-                            List<String> formattedRow = new ArrayList<>();
-                            Pattern pattern = Pattern.compile("-?\\s*\\[?([\\w가-힣&()0-9.,\\s]+?)]?\\s*:\\s*(변동성(?:지수)?\\s*)?([\\d.]+)%");
-
-                            Matcher matcher = pattern.matcher(row.get(1));
-                            StringBuilder reconstitution = new StringBuilder();
-
-                            while (matcher.find()) {
-                                if (!reconstitution.isEmpty()) {
-                                    reconstitution.append(" / ");
-                                }
-                                /**
-                                 * 첫 번째 그룹 : ([\\w가-힣&()0-9.,\\s]+?)
-                                 * 두 번째 그룹 : (변동성지수\s*)?
-                                 * 세 번째 그룹 : ([\\d.]+)
-                                 */
-                                String name = matcher.group(1).trim()
-                                                            .replaceAll("보통주", "")
-                                                            .replaceAll("\\(\\d+\\)", "")
-                                                            .trim();
-                                String value = matcher.group(3).trim();
-                                reconstitution.append(name).append(" : ").append(value).append("%");
+                        while (matcher.find()) {
+                            if (!reconstitution.isEmpty()) {
+                                reconstitution.append(" / ");
                             }
-
-                            if (!reconstitution.isEmpty())
-                                formattedRow.add(String.valueOf(reconstitution));
-
-                            result.add(formattedRow);
+                            /**
+                             * 첫 번째 그룹 : ([\\w가-힣&()0-9.,\\s]+?)
+                             * 두 번째 그룹 : (변동성지수\s*)?
+                             * 세 번째 그룹 : ([\\d.]+)
+                             */
+                            String name = matcher.group(1).trim()
+                                                        .replaceAll("보통주", "")
+                                                        .replaceAll("\\(\\d+\\)", "")
+                                                        .trim();
+                            String value = matcher.group(3).trim();
+                            reconstitution.append(name).append(" : ").append(value).append("%");
                         }
-                    }
-                }
-            }
-        }
-
-        return result;
-    }
-
-    public List<String> findInitialBasePriceEvaluationDateList(String issuer, Document doc) {
-
-        List<String> result = new ArrayList<>();
-
-        String datePattern = "\\d{4}년 \\d{2}월 \\d{2}일";
-        Pattern pattern = Pattern.compile(datePattern);
 
-        // 삼성증권 - 최초기준가격 결정일 (예정)
-        if (issuer.equals("삼성증권")) {
+                        if (!reconstitution.isEmpty())
+                            formattedRow.add(String.valueOf(reconstitution));
 
-            Elements tables = doc.select("table");
-
-            for (Element table : tables) {
-                // <table> 태그 내부의 모든 <td> 태그를 선택
-                Elements tds = table.select("td");
-
-                // "최초기준가격 결정일 (예정)"이 포함된 <td>를 찾기
-                boolean containsTargetString = tds.stream()
-                        .anyMatch(td -> td.text().contains("최초기준가격 결정일 (예정)"));
-
-                if (containsTargetString) {
-                    // 각 <td>의 텍스트를 검사하여 날짜 패턴과 일치하는 문자열을 찾기
-                    for (Element td : tds) {
-                        Matcher matcher = pattern.matcher(td.text());
-                        if (matcher.find()) {
-                            // 날짜 문자열을 출력
-                            result.add(matcher.group());
-                            break;
-                        }
-                    }
-                }
-            }
-
-            return result;
-        }
-
-        Elements pTags = doc.select("p");
-
-        Elements tables = doc.select("table");
-
-        // p tag
-        for (Element pTag : pTags) {
-            if (pTag.text().contains("최초기준가격평가일")) {
-
-                String pText = pTag.text();
-
-                Matcher matcher = pattern.matcher(pText);
-                if (matcher.find()) {
-                    String date = matcher.group();
-                    result.add(date);
-                }
-            }
-        }
-
-        // table
-        for (Element table : tables) {
-            // <table> 태그 내부의 모든 <td> 태그를 선택
-            Elements tds = table.select("td");
-
-            // "최초기준가격평가일"이 포함된 <td>를 찾기
-            boolean containsTargetString = tds.stream()
-                    .anyMatch(td -> td.text().contains("최초기준가격평가일"));
-
-            if (containsTargetString) {
-                // 각 <td>의 텍스트를 검사하여 날짜 패턴과 일치하는 문자열을 찾기
-                for (Element td : tds) {
-                    Matcher matcher = pattern.matcher(td.text());
-                    if (matcher.find()) {
-                        // 날짜 문자열을 출력
-                        result.add(matcher.group());
+                        result.add(formattedRow);
                     }
                 }
             }
@@ -401,281 +380,32 @@ public class ParsingProspectusService {
         return result;
     }
 
-    // 보통 각 상품당 만기 평가일은 하나 이나, 발행사에서 교란일 등으로 인해 예상 평가일을 여러 날짜로 표기한 경우
-    // 그중에 최초 만기 평가일을 가져오는 것으로 함
-    public List<String> findMaturityEvaluationDateList(String issuer, Document doc) {
-        List<String> result = new ArrayList<>();
-
-        String datePattern = "\\d{4}년 \\d{2}월 \\d{2}일";
-        Pattern pattern = Pattern.compile(datePattern);
-
-        // 삼성증권 - 만기평가일 (예정)
-        if (issuer.equals("삼성증권")) {
-
-            Elements rows = doc.select("tr");
-
-            for (Element row : rows) {
-                Elements tds = row.select("td");
-                for (Element td : tds) {
-                    if (td.text().contains("만기평가일 (예정)")) {
-                        Element dateTd = tds.get(tds.indexOf(td) + 1); // 같은 tr의 다음 td
-                        String dates = dateTd.text();
-                        Matcher matcher = pattern.matcher(dates);
-                        if (matcher.find()) {
-                            // 날짜 문자열을 출력
-                            result.add(matcher.group());
-                            break;
-                        }
-                    }
-                }
-            }
-
-            return result;
-        }
-
-        // 교보증권 - 만기평가일
-        if (issuer.equals("교보증권")) {
-
-            Elements tables = doc.select("table");
-
-            for (Element table : tables) {
-                // <table> 태그 내부의 모든 <td> 태그를 선택
-                Elements tds = table.select("td");
-
-                // "만기평가일"이 포함된 <td>를 찾기
-                boolean containsTargetString = tds.stream()
-                        .anyMatch(td -> td.text().contains("만기평가일"));
-
-                if (containsTargetString) {
-                    // 각 <td>의 텍스트를 검사하여 날짜 패턴과 일치하는 문자열을 찾기
-                    for (Element td : tds) {
-                        Matcher matcher = pattern.matcher(td.text());
-                        if (matcher.find()) {
-                            // 날짜 문자열을 출력
-                            result.add(matcher.group());
-                            break;
-                        }
-                    }
-                }
-            }
-
-            return result;
-        }
-
-        Elements pTags = doc.select("p");
-
-        Elements tables = doc.select("table");
-
-        // p tag
-        for (Element pTag : pTags) {
-            if (pTag.text().contains("만기평가일 :") || pTag.text().contains("만기상환평가일 :")) {
-
-                String pText = pTag.text();
-
-                Matcher matcher = pattern.matcher(pText);
-                if (matcher.find()) {
-                    String date = matcher.group();
-                    result.add(date);
-                }
-
-                Element table = pTag.nextElementSibling();
-                if (table == null)   continue;
-
-                if (table.tagName().equals("table")) {
-                    Elements tds = table.select("td");
-                    for (Element td : tds) {
-                        matcher = pattern.matcher(td.text());
-                        if (matcher.find()) {
-                            result.add(matcher.group());
-                            break;
-                        }
-                    }
-                }
-            }
-        }
-
-        // table
-        for (Element table : tables) {
-            // <table> 태그 내부의 모든 <td> 태그를 선택
-            Elements tds = table.select("td");
-
-            // "만기상환평가일 :"이 포함된 <td>를 찾기
-            boolean containsTargetString = tds.stream()
-                    .anyMatch(td -> td.text().contains("만기상환평가일 :"));
-
-            if (containsTargetString) {
-                // 각 <td>의 텍스트를 검사하여 날짜 패턴과 일치하는 문자열을 찾기
-                for (Element td : tds) {
-                    Matcher matcher = pattern.matcher(td.text());
-                    if (matcher.find()) {
-                        // 날짜 문자열을 출력
-                        result.add(matcher.group());
-                        break;
-                    }
-                }
-            }
-        }
-
-        return result;
+    public List<String> findInitialBasePriceEvaluationDateList(String issuer, ProspectusIndex prospectus) {
+        return issuerExtractionStrategyRegistry.extract("initialBasePriceEvaluationDate", issuer, prospectus,
+                IssuerExtractionStrategy::findInitialBasePriceEvaluationDates);
     }
 
-    public List<MaturityEvaluationDateType> findMaturityEvaluationDateCountList(String issuer, Document doc) {
-        List<MaturityEvaluationDateType> result = new ArrayList<>();
-
-        String datePattern = "\\d{4}년 \\d{2}월 \\d{2}일";
-        Pattern pattern = Pattern.compile(datePattern);
-
-        // 삼성증권 - 만기평가일 (예정)
-        if (issuer.equals("삼성증권")) {
-            Elements rows = doc.select("tr");
-
-            int count;
-            for (Element row : rows) {
-                Elements tds = row.select("td");
-                for (Element td : tds) {
-                    if (td.text().contains("만기평가일 (예정)")) {
-                        count = 0;
-
-                        Element dateTd = tds.get(tds.indexOf(td) + 1); // 같은 tr의 다음 td
-                        String dates = dateTd.text();
-                        Matcher matcher = pattern.matcher(dates);
-                        while (matcher.find()) {
-                            count++;
-                        }
-
-                        if (count > 1)  result.add(MaturityEvaluationDateType.MULTIPLE);
-                        else if (count == 1) result.add(MaturityEvaluationDateType.SINGLE);
-                        else result.add(MaturityEvaluationDateType.UNKNOWN);
-                    }
-                }
-            }
-
-            return result;
-        }
-
-        // 교보증권 - 만기평가일
-        if (issuer.equals("교보증권")) {
-
-            Elements tables = doc.select("table");
-
-            int count;
-            for (Element table : tables) {
-                // <table> 태그 내부의 모든 <td> 태그를 선택
-                Elements tds = table.select("td");
-
-                // "만기평가일"이 포함된 <td>를 찾기
-                boolean containsTargetString = tds.stream()
-                        .anyMatch(td -> td.text().contains("만기평가일"));
-
-                if (containsTargetString) {
-                    // 각 <td>의 텍스트를 검사하여 날짜 패턴과 일치하는 문자열을 찾기
-                    for (Element td : tds) {
-                        count = 0;
-                        Matcher matcher = pattern.matcher(td.text());
-                        while (matcher.find()) {
-                            count++;
-                        }
-
-                        if (count > 1)  result.add(MaturityEvaluationDateType.MULTIPLE);
-                        else if (count == 1) result.add(MaturityEvaluationDateType.SINGLE);
-                    }
-                }
-            }
-
-            return result;
-        }
-
-        // 키움증권 - 만기평가일
-        if (issuer.equals("키움증권")) {
-            Elements pTags = doc.select("p");
-
-            int count;
-            for (Element pTag : pTags) {
-
-                if (pTag.text().contains("만기평가일 :")) {
-
-                    String pText = pTag.text();
-
-                    count = 0;
-                    Matcher matcher = pattern.matcher(pText);
-                    while (matcher.find()) {
-                        count++;
-                    }
-
-                    if (count > 1)  result.add(MaturityEvaluationDateType.MULTIPLE);
-                    else if (count == 1) result.add(MaturityEvaluationDateType.SINGLE);
-                }
-            }
-            return result;
-        }
-
-        Elements pTags = doc.select("p");
-
-        Elements tables = doc.select("table");
-
-        // p tag
-        int count;
-        for (Element pTag : pTags) {
-            if (pTag.text().contains("만기평가일 :") || pTag.text().contains("만기상환평가일 :")) {
-
-                String pText = pTag.text();
-
-                count = 0;
-                Matcher matcher = pattern.matcher(pText);
-                if (matcher.find()) {
-                    count++;
-                }
-
-                Element table = pTag.nextElementSibling();
-                if (table == null)   continue;
-
-                if (table.tagName().equals("table")) {
-                    Elements tds = table.select("td");
-                    for (Element td : tds) {
-                        matcher = pattern.matcher(td.text());
-                        while (matcher.find()) {
-                            count++;
-                        }
-                    }
-                }
-
-                if (count > 1)  result.add(MaturityEvaluationDateType.MULTIPLE);
-                else if (count == 1) result.add(MaturityEvaluationDateType.SINGLE);
-            }
-        }
-
-        // table
-        for (Element table : tables) {
-            count = 0;
-            // <table> 태그 내부의 모든 <td> 태그를 선택
-            Elements tds = table.select("td");
-
-            // "만기상환평가일 :"이 포함된 <td>를 찾기
-            boolean containsTargetString = tds.stream()
-                    .anyMatch(td -> td.text().contains("만기상환평가일 :"));
-
-            if (containsTargetString) {
-                // 각 <td>의 텍스트를 검사하여 날짜 패턴과 일치하는 문자열을 찾기
-                for (Element td : tds) {
-                    Matcher matcher = pattern.matcher(td.text());
-                    if (matcher.find()) {
-                        count++;
-                    }
-                }
-            }
+    public List<String> findMaturityEvaluationDateList(String issuer, ProspectusIndex prospectus) {
+        return issuerExtractionStrategyRegistry.extract("maturityEvaluationDate", issuer, prospectus,
+                IssuerExtractionStrategy::findMaturityEvaluationDates);
+    }
 
-            if (count > 1)  result.add(MaturityEvaluationDateType.MULTIPLE);
-            else if (count == 1) result.add(MaturityEvaluationDateType.SINGLE);
-        }
+    public List<MaturityEvaluationDateType> findMaturityEvaluationDateCountList(String issuer, ProspectusIndex prospectus) {
+        return issuerExtractionStrategyRegistry.extract("maturityEvaluationDateCount", issuer, prospectus,
+                IssuerExtractionStrategy::findMaturityEvaluationDateTypes);
+    }
 
-        return result;
+    // 투자 설명서에서 해당 회차 상품이 몇 번째인지 (문서, 회차마다 한 번만 계산)
+    private int locate(String targetProductSession, ProspectusIndex prospectus) {
+        return prospectus.memoize("location:" + targetProductSession,
+                () -> RegexTimeLimiter.orElse("productLocation", () -> findLocationOfProduct(targetProductSession, prospectus), 0));
     }
 
-    private int findLocationOfProduct(String targetProductSession, Document doc) {
+    private int findLocationOfProduct(String targetProductSession, ProspectusIndex prospectus) {
 
         int result = 0;
 
-        Elements trElements = doc.select("tr:has(td:matchesOwn(주식회사|증권|증\\s권|주\\s식\\s회\\s사))");
+        Elements trElements = prospectus.getDocument().select(ISSUER_ROW);
 
         if (!trElements.isEmpty()) {
 
@@ -688,7 +418,7 @@ public class ParsingProspectusService {
 
             List<String> productSessionList = new ArrayList<>();
             for (String part : parts) {
-                Matcher matcher = Pattern.compile("(?<=\\s|제|회|호|^)\\d+(?=\\s|제|회|호|$)").matcher(part);
+                Matcher matcher = RegexTimeLimiter.matcher(SESSION_PATTERN, part);
 
                 while (matcher.find()) {
                     productSessionList.add(matcher.group());
@@ -696,7 +426,7 @@ public class ParsingProspectusService {
             }
             if (productSessionList.isEmpty()) {
                 // 제29589-29598회 형태
-                Matcher matcher = Pattern.compile("\\d+-\\d+").matcher(nextTr.text());
+                Matcher matcher = RegexTimeLimiter.matcher(SESSION_RANGE_PATTERN, nextTr.text());
                 if (matcher.find()) {
                     String found = matcher.group();
                     String[] foundList = found.split("-");
@@ -717,7 +447,9 @@ public class ParsingProspectusService {
     }
 
     private LocalDate convertToLocalDate(String dateString) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy년 MM월 dd일");
-        return LocalDate.parse(dateString, formatter);
+        return LocalDate.parse(dateString, DATE_FORMATTER);
+    }
+
+    private record Downloaded(String etag, String lastModified, ProspectusStreamParser.Parsed parsed) {
     }
 }
@@ -0,0 +1,214 @@
+package com.wl2c.elswherebatchservice.domain.product.service;
+
+import com.wl2c.elswherebatchservice.domain.product.model.DeadLetterStage;
+import com.wl2c.elswherebatchservice.domain.product.model.dto.ProductKey;
+import com.wl2c.elswherebatchservice.domain.product.model.dto.ProductRow;
+import com.wl2c.elswherebatchservice.domain.product.model.entity.ExcelRowFingerprint;
+import com.wl2c.elswherebatchservice.domain.product.repository.ProductRepository;
+import com.wl2c.elswherebatchservice.domain.product.service.excel.ExcelRow;
+import com.wl2c.elswherebatchservice.domain.product.service.excel.ProductRowDecoder;
+import com.wl2c.elswherebatchservice.domain.product.service.excel.StreamingExcelReader;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * 과거 엑셀 파일들을 한 번에 적재하는 백필 작업
+ *
+ * 디렉터리의 엑셀 파일들을 ForkJoin 풀에서 병렬로 읽고 해석한 뒤, (발행회사, 상품명) 기준으로 중복을 합쳐
+ * 일반 작업과 같은 청크 단위 저장 경로로 저장함. 중복이 있다면 더 최근 파일의 행을 사용
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductBackfillService {
+
+    @Value("${file.backfill.path:/data/backfill}")
+    private String backfillRootPath;
+
+    // 0 이하면 CPU 코어 수
+    @Value("${batch.backfill.parallelism:0}")
+    private int parallelism;
+
+    @Value("${batch.excel.chunk-size:20}")
+    private int chunkSize;
+
+    @Value("${batch.excel.chunk-interval:30s}")
+    private Duration chunkInterval;
+
+    private final ProductRepository productRepository;
+
+    private final ExcelFingerprintService excelFingerprintService;
+    private final ExcelRowDeadLetterService excelRowDeadLetterService;
+    private final ProductRowProcessor productRowProcessor;
+    private final ProductChunkWriter productChunkWriter;
+
+    private final StreamingExcelReader streamingExcelReader;
+    private final ProductRowDecoder productRowDecoder;
+
+    private final ProductWriteJobLock productWriteJobLock;
+
+    // 백필 작업은 한 번에 하나만 실행하고, 상품을 갱신하는 다른 작업과도 동시에 실행하지 않음
+    private final ExecutorService backfillExecutor = Executors.newSingleThreadExecutor();
+
+    /**
+     * 백필 대상 디렉터리 (file.backfill.path 하위 디렉터리만 허용)
+     */
+    public Path resolveDirectory(String directory) {
+        Path root = Path.of(backfillRootPath).toAbsolutePath().normalize();
+        Path path = root.resolve(directory).normalize();
+        if (!path.startsWith(root) || !Files.isDirectory(path)) {
+            throw new IllegalArgumentException("Invalid backfill directory : " + directory);
+        }
+        return path;
+    }
+
+    /**
+     * 백필 작업을 비동기로 시작
+     *
+     * @return 백필 작업이나 상품을 갱신하는 다른 작업이 실행 중이라면 false
+     */
+    public boolean startBackfill(Path directory) {
+        if (!productWriteJobLock.tryAcquire("backfill"))  return false;
+
+        backfillExecutor.submit(() -> {
+            try {
+                backfill(directory);
+            } catch (Exception e) {
+                log.error("Error processing backfill: ", e);
+            } finally {
+                productWriteJobLock.release();
+            }
+        });
+        return true;
+    }
+
+    public void backfill(Path directory) throws IOException, InterruptedException, ExecutionException {
+        long startedAt = System.nanoTime();
+
+        // 오래된 파일부터 정렬하여, 중복된 상품은 최근 파일의 행이 남도록 함
+        List<Path> files;
+        try (Stream<Path> paths = Files.list(directory)) {
+            files = paths
+                    .filter(path -> path.toString().endsWith(".xls") || path.toString().endsWith(".xlsx"))
+                    .sorted(Comparator.comparing(ProductBackfillService::lastModified).thenComparing(Path::toString))
+                    .toList();
+        }
+        log.info("백필 대상 파일 " + files.size() + " 개 : " + directory);
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        Map<ProductKey, DecodedRow> mergedRows;
+        try {
+            mergedRows = pool.submit(() -> IntStream.range(0, files.size())
+                    .parallel()
+                    .boxed()
+                    .flatMap(fileIndex -> decodeFile(fileIndex, files.get(fileIndex)))
+                    .collect(Collectors.toMap(DecodedRow::key, Function.identity(), DecodedRow::newer))
+            ).get();
+        } finally {
+            pool.shutdown();
+        }
+        log.info("백필 대상 상품 " + mergedRows.size() + " 개, 해석 소요 시간 " + Duration.ofNanos(System.nanoTime() - startedAt));
+
+        // 저장은 일반 작업과 같은 청크 단위 경로를 사용 (투자설명서 조회가 있으므로 순차 처리)
+        Map<ProductKey, ExcelRowFingerprint> rowFingerprints = excelFingerprintService.loadRowFingerprints();
+        ProductKeyIndex productKeyIndex = ProductKeyIndex.of(productRepository.findAllProductKeys());
+        ProductChunk chunk = new ProductChunk(chunkSize, chunkInterval);
+
+        int savedProducts = 0;
+        List<DecodedRow> rows = new ArrayList<>(mergedRows.values());
+        rows.sort(DecodedRow.ORDER);
+        for (DecodedRow row : rows) {
+            prepare(row, chunk, productKeyIndex);
+
+            if (chunk.isFull()) {
+                savedProducts += productChunkWriter.write(chunk, rowFingerprints, productKeyIndex, () -> {});
+            }
+        }
+        savedProducts += productChunkWriter.write(chunk, rowFingerprints, productKeyIndex, () -> {});
+
+        log.info("백필 완료 : " + savedProducts + " 개 상품 저장, 소요 시간 " + Duration.ofNanos(System.nanoTime() - startedAt));
+    }
+
+    // 일반 작업과 같은 준비 경로 (같은 투자설명서를 가리키는 행들은 문서 캐시에서 한 번만 받아옴)
+    private void prepare(DecodedRow row, ProductChunk chunk, ProductKeyIndex productKeyIndex) {
+        try {
+            chunk.addPrepared(row.row(), productRowProcessor.prepare(row.productRow(), productKeyIndex));
+        } catch (IOException | RuntimeException e) {
+            excelRowDeadLetterService.record(row.row(), row.productRow().getName(), DeadLetterStage.PREPARE, e);
+        }
+    }
+
+    /**
+     * 파일을 스트리밍으로 읽은 뒤, 행 해석은 ForkJoin 풀에서 병렬로 수행
+     */
+    private Stream<DecodedRow> decodeFile(int fileIndex, Path file) {
+        List<ExcelRow> rows = new ArrayList<>();
+        try {
+            streamingExcelReader.read(file.toFile(), row -> {
+                // 첫 행은 헤더
+                if (row.getRowNum() == 0 || row.isEmpty())  return;
+                rows.add(row);
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading backfill file: " + file, e);
+        }
+
+        return rows.parallelStream()
+                .map(row -> decode(fileIndex, row))
+                .filter(Objects::nonNull);
+    }
+
+    private DecodedRow decode(int fileIndex, ExcelRow row) {
+        try {
+            return new DecodedRow(fileIndex, row, productRowDecoder.decode(row));
+        } catch (RuntimeException e) {
+            excelRowDeadLetterService.record(row, null, DeadLetterStage.DECODE, e);
+            return null;
+        }
+    }
+
+    private static long lastModified(Path path) {
+        return path.toFile().lastModified();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        backfillExecutor.shutdownNow();
+    }
+
+    private record DecodedRow(int fileIndex, ExcelRow row, ProductRow productRow) {
+
+        static final Comparator<DecodedRow> ORDER = Comparator.comparingInt(DecodedRow::fileIndex)
+                .thenComparingInt(decodedRow -> decodedRow.row().getRowNum());
+
+        ProductKey key() {
+            return new ProductKey(productRow.getIssuer(), productRow.getName());
+        }
+
+        static DecodedRow newer(DecodedRow a, DecodedRow b) {
+            return ORDER.compare(a, b) >= 0 ? a : b;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.wl2c.elswherebatchservice.domain.product.service;
+
+import com.wl2c.elswherebatchservice.domain.product.model.dto.PreparedProduct;
+import com.wl2c.elswherebatchservice.domain.product.service.excel.ExcelRow;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 아직 커밋하지 않은 행들
+ *
+ * 저장할 준비를 마친 행을 모아 두었다가 가득 차면(N 개 행 또는 T 초) 한 번에 저장함
+ */
+public class ProductChunk {
+
+    private final int chunkSize;
+    private final Duration chunkInterval;
+
+    private final List<Prepared> preparedProducts = new ArrayList<>();
+
+    private long startedAt = System.nanoTime();
+    private int lastRowNum = -1;
+
+    public ProductChunk(int chunkSize, Duration chunkInterval) {
+        this.chunkSize = chunkSize;
+        this.chunkInterval = chunkInterval;
+    }
+
+    /**
+     * 저장할 준비를 마친 행
+     */
+    public void addPrepared(ExcelRow row, PreparedProduct prepared) {
+        preparedProducts.add(new Prepared(row, prepared));
+    }
+
+    // 저장할 것은 없지만 처리를 마친 행
+    public void advance(int rowNum) {
+        lastRowNum = Math.max(lastRowNum, rowNum);
+    }
+
+    public boolean isEmpty() {
+        return preparedProducts.isEmpty() && lastRowNum == -1;
+    }
+
+    public boolean isFull() {
+        return preparedProducts.size() >= chunkSize
+                || System.nanoTime() - startedAt >= chunkInterval.toNanos();
+    }
+
+    public List<Prepared> getPreparedProducts() {
+        return preparedProducts;
+    }
+
+    public int getLastRowNum() {
+        return lastRowNum;
+    }
+
+    public void clear() {
+        preparedProducts.clear();
+        startedAt = System.nanoTime();
+        lastRowNum = -1;
+    }
+
+    /**
+     * 원본 엑셀 행 (실패 시 기록용) 과 저장할 상품
+     */
+    public record Prepared(ExcelRow row, PreparedProduct prepared) {
+    }
+}
@@ -0,0 +1,100 @@
+package com.wl2c.elswherebatchservice.domain.product.service;
+
+import com.wl2c.elswherebatchservice.domain.product.model.DeadLetterStage;
+import com.wl2c.elswherebatchservice.domain.product.model.dto.PreparedProduct;
+import com.wl2c.elswherebatchservice.domain.product.model.dto.ProductKey;
+import com.wl2c.elswherebatchservice.domain.product.model.entity.ExcelRowFingerprint;
+import com.wl2c.elswherebatchservice.domain.product.model.entity.Product;
+import com.wl2c.elswherebatchservice.domain.product.model.entity.TickerSymbol;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 청크에 모인 상품을 하나의 트랜잭션으로 저장
+ *
+ * 청크 저장에 실패하면 행마다 별도의 트랜잭션으로 다시 저장하고, 그래도 실패한 행만 따로 기록
+ * 알림은 커밋된 행에 대해서만 커밋된 뒤에 보냄
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductChunkWriter {
+
+    private final ExcelFingerprintService excelFingerprintService;
+    private final ExcelRowDeadLetterService excelRowDeadLetterService;
+    private final ProductRowProcessor productRowProcessor;
+
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * @param checkpoint 청크와 같은 트랜잭션에서 실행할 작업 (체크포인트 기록 등)
+     * @return 저장된 상품 개수
+     */
+    public int write(ProductChunk chunk,
+                     Map<ProductKey, ExcelRowFingerprint> rowFingerprints,
+                     ProductKeyIndex productKeyIndex,
+                     Runnable checkpoint) {
+        if (chunk.isEmpty())  return 0;
+
+        List<WrittenRow> writtenRows;
+        try {
+            writtenRows = transactionTemplate.execute(status -> {
+                List<WrittenRow> written = new ArrayList<>();
+                for (ProductChunk.Prepared entry : chunk.getPreparedProducts()) {
+                    written.add(writeRow(entry.prepared(), rowFingerprints));
+                }
+                checkpoint.run();
+                return written;
+            });
+        } catch (RuntimeException e) {
+            log.warn("청크 저장 실패, 행 단위로 다시 저장 : " + e);
+
+            writtenRows = new ArrayList<>();
+            for (ProductChunk.Prepared entry : chunk.getPreparedProducts()) {
+                try {
+                    writtenRows.add(transactionTemplate.execute(status -> writeRow(entry.prepared(), rowFingerprints)));
+                } catch (RuntimeException rowException) {
+                    excelRowDeadLetterService.record(entry.row(), entry.prepared().getRow().getName(), DeadLetterStage.WRITE, rowException);
+                }
+            }
+            transactionTemplate.executeWithoutResult(status -> checkpoint.run());
+        }
+
+        // 커밋된 내용만 인덱스와 행 해시에 반영하고 알림을 보냄
+        int savedProducts = 0;
+        for (WrittenRow writtenRow : writtenRows) {
+            productRowProcessor.publish(writtenRow.prepared(), writtenRow.temporaryTickerSymbols());
+            if (writtenRow.product() != null) {
+                productKeyIndex.put(writtenRow.product());
+                savedProducts++;
+            }
+            if (writtenRow.fingerprint() != null) {
+                rowFingerprints.put(writtenRow.fingerprint().getKey(), writtenRow.fingerprint());
+            }
+        }
+
+        chunk.clear();
+        return savedProducts;
+    }
+
+    private WrittenRow writeRow(PreparedProduct prepared, Map<ProductKey, ExcelRowFingerprint> rowFingerprints) {
+        Product product = prepared.isWritable() ? productRowProcessor.write(prepared) : null;
+        List<TickerSymbol> temporaryTickerSymbols = productRowProcessor.saveTemporaryTickerSymbols(prepared);
+        ExcelRowFingerprint fingerprint = prepared.getResult().isCompleted()
+                ? excelFingerprintService.saveRowFingerprint(rowFingerprints, prepared.getRow())
+                : null;
+        return new WrittenRow(prepared, product, temporaryTickerSymbols, fingerprint);
+    }
+
+    private record WrittenRow(PreparedProduct prepared,
+                              Product product,
+                              List<TickerSymbol> temporaryTickerSymbols,
+                              ExcelRowFingerprint fingerprint) {
+    }
+}
@@ -0,0 +1,64 @@
+package com.wl2c.elswherebatchservice.domain.product.service;
+
+import com.wl2c.elswherebatchservice.global.base.IdGeneration;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 시작할 때 id 시퀀스 테이블이 준비되어 있는지 확인 (값을 바꾸지는 않음)
+ *
+ * 시퀀스 테이블은 scripts/db/02_product_id_sequences.sql 로 만들고, 준비되지 않았다면 중복 id 로 insert 가 실패하기 전에 시작을 중단함
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductIdSequenceVerifier implements ApplicationRunner {
+
+    private static final String SCRIPT = "scripts/db/02_product_id_sequences.sql";
+
+    private static final List<Sequence> SEQUENCES = List.of(
+            new Sequence("product_seq", "product", "product_id"),
+            new Sequence("product_ticker_symbol_seq", "product_ticker_symbol", "product_ticker_symbol_id"),
+            new Sequence("early_repayment_evaluation_dates_seq", "early_repayment_evaluation_dates", "early_repayment_evaluation_dates_id")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        for (Sequence sequence : SEQUENCES) {
+            verify(sequence);
+        }
+    }
+
+    private void verify(Sequence sequence) {
+        Long nextValue;
+        try {
+            nextValue = jdbcTemplate.queryForObject("select max(next_val) from " + sequence.table(), Long.class);
+        } catch (DataAccessException e) {
+            throw new IllegalStateException(sequence.table() + " 시퀀스 테이블이 없음 : " + SCRIPT + " 실행 필요", e);
+        }
+        if (nextValue == null) {
+            throw new IllegalStateException(sequence.table() + " 시퀀스 테이블이 비어 있음 : " + SCRIPT + " 실행 필요");
+        }
+
+        // pooled optimizer 는 읽어온 값에서 allocationSize 만큼 앞의 값부터 발급하므로, 기존 id 와 겹치지 않으려면 그만큼 여유가 있어야 함
+        long maxId = jdbcTemplate.queryForObject(
+                "select coalesce(max(" + sequence.idColumn() + "), 0) from " + sequence.entityTable(), Long.class);
+        if (maxId > 0 && maxId > nextValue - IdGeneration.ALLOCATION_SIZE - 1) {
+            throw new IllegalStateException(sequence.table() + " 의 다음 값 " + nextValue + " 이 " + sequence.entityTable()
+                    + " 의 최대 id " + maxId + " 와 겹침 : " + SCRIPT + " 실행 필요");
+        }
+        log.info(sequence.table() + " 확인 : 다음 값 " + nextValue + ", 최대 id " + maxId);
+    }
+
+    private record Sequence(String table, String entityTable, String idColumn) {
+    }
+}
@@ -0,0 +1,483 @@
+package com.wl2c.elswherebatchservice.domain.product.service;
+
+import com.wl2c.elswherebatchservice.domain.product.model.DeadLetterStage;
+import com.wl2c.elswherebatchservice.domain.product.model.dto.PreparedProduct;
+import com.wl2c.elswherebatchservice.domain.product.model.dto.ProductKey;
+import com.wl2c.elswherebatchservice.domain.product.model.dto.ProductRow;
+import com.wl2c.elswherebatchservice.domain.product.model.entity.ExcelRowFingerprint;
+import com.wl2c.elswherebatchservice.domain.product.service.excel.ExcelRow;
+import com.wl2c.elswherebatchservice.domain.product.service.excel.ProductRowDecoder;
+import com.wl2c.elswherebatchservice.domain.product.service.excel.StreamingExcelReader;
+import com.wl2c.elswherebatchservice.domain.product.service.prospectus.ProspectusDocumentCache;
+import com.wl2c.elswherebatchservice.domain.product.service.prospectus.ProspectusIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 엑셀 행 해석 -> 투자설명서 조회 -> 추출 -> 저장 단계를 동시에 수행하는 파이프라인
+ *
+ * 단계 사이는 크기가 제한된 큐로 연결되어, 뒤 단계가 밀리면 앞 단계가 기다림. 투자설명서 조회는 가상 스레드에서 동시에 수행하고
+ * (호스트별 속도/동시 요청 수 제한은 그대로 적용), 추출과 저장은 각각 하나의 스레드에서 수행함
+ *
+ * 조회는 시트 순서가 아니라 청약 마감일이 가까운 상품부터 수행하며, 이미 청약이 끝난 상품은 가장 뒤로 미룸.
+ * 시간 제한을 넘기면 남은 행은 처리하지 않고, 체크포인트는 앞선 행이 모두 처리된 위치까지만 기록하므로 다음 실행에서 이어서 처리함
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductIngestionPipeline {
+
+    private static final long POLL_MILLIS = 200;
+
+    @Value("${batch.pipeline.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${batch.pipeline.fetch-concurrency:16}")
+    private int fetchConcurrency;
+
+    // 우선순위를 정하기 위해 미리 읽어 두는 최대 행 개수
+    @Value("${batch.pipeline.priority-window:4096}")
+    private int priorityWindow;
+
+    // 0 이면 제한 없음
+    @Value("${batch.pipeline.time-budget:0s}")
+    private Duration timeBudget;
+
+    @Value("${batch.excel.chunk-size:20}")
+    private int chunkSize;
+
+    @Value("${batch.excel.chunk-interval:30s}")
+    private Duration chunkInterval;
+
+    private final ExcelFingerprintService excelFingerprintService;
+    private final ProductRowProcessor productRowProcessor;
+    private final ExcelRowDeadLetterService excelRowDeadLetterService;
+    private final ProductChunkWriter productChunkWriter;
+
+    private final StreamingExcelReader streamingExcelReader;
+    private final ProductRowDecoder productRowDecoder;
+    private final ProspectusDocumentCache prospectusDocumentCache;
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * @param resumeAfterRow 이 행까지는 이전 실행에서 커밋했으므로 건너뜀
+     */
+    public Result run(File file,
+                      Long fileFingerprintId,
+                      int resumeAfterRow,
+                      Map<ProductKey, ExcelRowFingerprint> rowFingerprints,
+                      ProductKeyIndex productKeyIndex) throws IOException {
+        return new Run(fileFingerprintId, resumeAfterRow, rowFingerprints, productKeyIndex).execute(file);
+    }
+
+    /**
+     * @param rows 이번 실행에서 처리한 데이터 행 개수 (헤더와 이전 실행에서 커밋한 행은 제외)
+     * @param fileRows 엑셀 파일의 데이터 행 개수 (헤더 제외)
+     * @param deferredRows 시간 제한으로 처리하지 못한 행 개수 (0 보다 크면 다음 실행에서 이어서 처리해야 함)
+     */
+    public record Result(int rows, int fileRows, int skippedRows, int deferredRows) {
+    }
+
+    /**
+     * 조회를 기다리는 행
+     */
+    private record Pending(ExcelRow row, ProductRow productRow, ProductKey key, String prospectusLink) {
+
+        LocalDate subscriptionEndDate() {
+            return productRow.getSubscriptionEndDate();
+        }
+    }
+
+    /**
+     * 조회 단계의 결과
+     */
+    private record Fetched(Pending pending, String prospectusLink, ProspectusIndex prospectus, Exception error) {
+
+        static final Fetched END = new Fetched(null, null, null, null);
+    }
+
+    /**
+     * 추출 단계의 결과 (prepared 가 없다면 저장할 것이 없는 행)
+     */
+    private record Extracted(Pending pending, PreparedProduct prepared) {
+
+        static final Extracted END = new Extracted(null, null);
+    }
+
+    /**
+     * 한 번의 실행 상태
+     */
+    private class Run {
+
+        private final Long fileFingerprintId;
+        private final int resumeAfterRow;
+        private final Map<ProductKey, ExcelRowFingerprint> rowFingerprints;
+        private final ProductKeyIndex productKeyIndex;
+
+        private final long deadline;
+
+        private final PriorityBlockingQueue<Pending> pendingQueue;
+        private final BlockingQueue<Fetched> fetchedQueue = new ArrayBlockingQueue<>(queueCapacity);
+        private final BlockingQueue<Extracted> extractedQueue = new ArrayBlockingQueue<>(queueCapacity);
+        private final Semaphore window = new Semaphore(priorityWindow);
+
+        // 아직 커밋하지 않은 상품 -> 같은 상품의 뒤따르는 행 (먼저 들어온 행이 커밋된 뒤에 조회)
+        private final Map<ProductKey, Deque<Pending>> pendingKeys = new HashMap<>();
+        private final AtomicInteger waitingRows = new AtomicInteger();
+
+        private final RowWatermark watermark;
+        private final AtomicInteger liveFetchers = new AtomicInteger();
+        private volatile boolean decodeFinished;
+
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        private int rows;
+        private int fileRows;
+        private int skippedRows;
+        private int deferredRows;
+        private int lastSeenRow;
+        private int lastCheckpointRow;
+
+        Run(Long fileFingerprintId, int resumeAfterRow, Map<ProductKey, ExcelRowFingerprint> rowFingerprints, ProductKeyIndex productKeyIndex) {
+            this.fileFingerprintId = fileFingerprintId;
+            this.resumeAfterRow = resumeAfterRow;
+            this.rowFingerprints = rowFingerprints;
+            this.productKeyIndex = productKeyIndex;
+            this.deadline = System.nanoTime() + timeBudget.toNanos();
+            this.pendingQueue = new PriorityBlockingQueue<>(queueCapacity, priority(LocalDate.now()));
+            this.watermark = new RowWatermark(Math.max(resumeAfterRow, 0));
+            this.lastSeenRow = Math.max(resumeAfterRow, 0);
+            this.lastCheckpointRow = resumeAfterRow;
+        }
+
+        Result execute(File file) throws IOException {
+            ExecutorService fetchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+            ExecutorService stageExecutor = Executors.newFixedThreadPool(2);
+            try {
+                liveFetchers.set(fetchConcurrency);
+                for (int i = 0; i < fetchConcurrency; i++) {
+                    fetchExecutor.submit(() -> runStage("fetch", this::fetchLoop));
+                }
+                Future<?> extractStage = stageExecutor.submit(() -> runStage("extract", this::extractLoop));
+                Future<?> writeStage = stageExecutor.submit(() -> runStage("write", this::writeLoop));
+
+                // 엑셀 파일의 첫 번째 시트를 한 행씩 스트리밍으로 읽어서 다음 단계로 넘김
+                streamingExcelReader.read(file, this::decode);
+                decodeFinished = true;
+
+                await(extractStage);
+                await(writeStage);
+
+                deferredRows += pendingQueue.size() + waitingRows.get();
+                if (deferredRows > 0) {
+                    meterRegistry.counter("batch.pipeline.deferred").increment(deferredRows);
+                }
+                return new Result(rows, fileRows, skippedRows, deferredRows);
+            } finally {
+                stageExecutor.shutdownNow();
+                fetchExecutor.shutdownNow();
+            }
+        }
+
+        // 해석 단계 (엑셀을 읽는 스레드)
+        private void decode(ExcelRow row) throws IOException {
+            // 첫 행은 헤더
+            if (row.getRowNum() == 0)  return;
+            fileRows++;
+
+            // 이전 실행에서 커밋한 행은 패스
+            if (row.getRowNum() <= resumeAfterRow)  return;
+            rows++;
+
+            // 시트에 없는 행은 처리한 것으로 간주
+            watermark.complete(lastSeenRow + 1, row.getRowNum());
+            lastSeenRow = row.getRowNum();
+
+            if (row.isEmpty()) {
+                watermark.complete(row.getRowNum());
+                return;
+            }
+
+            Timer.Sample sample = Timer.start(meterRegistry);
+            ProductRow productRow;
+            try {
+                productRow = productRowDecoder.decode(row);
+            } catch (RuntimeException e) {
+                excelRowDeadLetterService.record(row, null, DeadLetterStage.DECODE, e);
+                watermark.complete(row.getRowNum());
+                return;
+            } finally {
+                sample.stop(stageTimer("decode"));
+            }
+
+            // 직전 실행에서 처리를 마친 행과 내용이 같으면 패스
+            if (excelFingerprintService.isUnchanged(rowFingerprints, productRow)) {
+                skippedRows++;
+                watermark.complete(row.getRowNum());
+                return;
+            }
+
+            // 시간 제한을 넘겼다면 나머지 행은 다음 실행으로 미룸 (체크포인트가 이 행을 넘지 않음)
+            if (!acquireWindow()) {
+                deferredRows++;
+                return;
+            }
+            dispatch(new Pending(row, productRow, new ProductKey(productRow.getIssuer(), productRow.getName()),
+                    productRowProcessor.findProspectusLink(productRow)));
+        }
+
+        // 같은 상품이 아직 커밋되지 않았다면 커밋될 때까지 대기열에 둠
+        private void dispatch(Pending pending) {
+            synchronized (pendingKeys) {
+                Deque<Pending> waiting = pendingKeys.get(pending.key());
+                if (waiting != null) {
+                    waiting.add(pending);
+                    waitingRows.incrementAndGet();
+                } else {
+                    pendingKeys.put(pending.key(), new ArrayDeque<>());
+                    pendingQueue.add(pending);
+                }
+            }
+        }
+
+        // 조회 단계 (가상 스레드) : 청약 마감일이 가까운 행부터 꺼내서 투자설명서가 필요하다면 미리 받아옴
+        private void fetchLoop() throws Exception {
+            try {
+                while (!isOverBudget()) {
+                    Pending pending = pendingQueue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                    if (pending == null) {
+                        // 대기열을 먼저 확인 (커밋되면 대기열의 행이 큐로 옮겨진 뒤 대기 행 개수가 줄어듦)
+                        if (decodeFinished && waitingRows.get() == 0 && pendingQueue.isEmpty())  return;
+                        checkFailure();
+                        continue;
+                    }
+                    enqueue(fetchedQueue, fetch(pending));
+                }
+            } finally {
+                // 마지막으로 끝나는 조회 스레드가 종료를 알림
+                if (liveFetchers.decrementAndGet() == 0) {
+                    enqueue(fetchedQueue, Fetched.END);
+                }
+            }
+        }
+
+        private Fetched fetch(Pending pending) {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                if (!productRowProcessor.needsProspectus(pending.productRow(), productKeyIndex)) {
+                    return new Fetched(pending, null, null, null);
+                }
+
+                String prospectusLink = pending.prospectusLink();
+                ProspectusIndex prospectus = prospectusLink == null ? null : prospectusDocumentCache.get(prospectusLink);
+                return new Fetched(pending, prospectusLink, prospectus, null);
+            } catch (IOException | RuntimeException e) {
+                return new Fetched(pending, null, null, e);
+            } finally {
+                sample.stop(stageTimer("fetch"));
+            }
+        }
+
+        // 추출 단계 : 조회를 마친 순서대로 저장할 상품을 준비
+        private void extractLoop() throws Exception {
+            while (true) {
+                Fetched fetched = take(fetchedQueue);
+                if (fetched == Fetched.END) {
+                    enqueue(extractedQueue, Extracted.END);
+                    return;
+                }
+
+                // 한 행의 실패가 전체 작업을 중단시키지 않도록 실패한 행은 따로 기록하고 다음 행을 처리
+                Pending pending = fetched.pending();
+                Timer.Sample sample = Timer.start(meterRegistry);
+                PreparedProduct prepared = null;
+                try {
+                    if (fetched.error() != null)  throw fetched.error();
+                    prepared = productRowProcessor.prepare(
+                            pending.productRow(), productKeyIndex, fetched.prospectusLink(), fetched.prospectus());
+                } catch (Exception e) {
+                    excelRowDeadLetterService.record(pending.row(), pending.productRow().getName(), DeadLetterStage.PREPARE, e);
+                } finally {
+                    sample.stop(stageTimer("extract"));
+                }
+                enqueue(extractedQueue, new Extracted(pending, prepared));
+            }
+        }
+
+        // 저장 단계 : N 개 행 또는 T 초마다 청크 단위로 커밋하면서 앞선 행이 모두 처리된 위치를 체크포인트로 기록
+        private void writeLoop() throws Exception {
+            ProductChunk chunk = new ProductChunk(chunkSize, chunkInterval);
+            List<Pending> chunkRows = new ArrayList<>();
+
+            while (true) {
+                Extracted extracted = extractedQueue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (extracted == null) {
+                    // 같은 상품의 커밋을 기다리는 행이 있거나 청크 주기가 지났다면 바로 커밋
+                    if (!chunk.isEmpty() && (waitingRows.get() > 0 || chunk.isFull()))  commit(chunk, chunkRows);
+                    checkFailure();
+                    continue;
+                }
+                if (extracted == Extracted.END) {
+                    commit(chunk, chunkRows);
+                    return;
+                }
+
+                Pending pending = extracted.pending();
+                if (extracted.prepared() != null)  chunk.addPrepared(pending.row(), extracted.prepared());
+                chunk.advance(pending.row().getRowNum());
+                chunkRows.add(pending);
+
+                if (chunk.isFull())  commit(chunk, chunkRows);
+            }
+        }
+
+        private void commit(ProductChunk chunk, List<Pending> chunkRows) {
+            chunkRows.forEach(pending -> watermark.complete(pending.row().getRowNum()));
+            int checkpointRow = watermark.get();
+
+            // 저장할 행이 없더라도 건너뛴 행으로 체크포인트가 움직였다면 기록
+            if (checkpointRow > lastCheckpointRow)  chunk.advance(checkpointRow);
+            if (chunk.isEmpty())  return;
+
+            Timer.Sample sample = Timer.start(meterRegistry);
+            int savedProducts = productChunkWriter.write(chunk, rowFingerprints, productKeyIndex,
+                    () -> excelFingerprintService.checkpoint(fileFingerprintId, checkpointRow));
+            sample.stop(stageTimer("write"));
+            lastCheckpointRow = checkpointRow;
+            log.info(checkpointRow + 1 + " 번째 행까지 체크포인트 기록 (" + savedProducts + " 개 상품 저장)");
+
+            // 커밋된 상품은 인덱스에 반영되었으므로 같은 상품의 다음 행을 조회
+            synchronized (pendingKeys) {
+                for (Pending pending : chunkRows) {
+                    Deque<Pending> waiting = pendingKeys.get(pending.key());
+                    Pending next = waiting == null ? null : waiting.poll();
+                    if (next == null) {
+                        pendingKeys.remove(pending.key());
+                    } else {
+                        pendingQueue.add(next);
+                        waitingRows.decrementAndGet();
+                    }
+                }
+            }
+            window.release(chunkRows.size());
+            chunkRows.clear();
+        }
+
+        // 미리 읽어 둔 행이 너무 많으면 앞 행이 처리될 때까지 기다림 (시간 제한을 넘기면 false)
+        private boolean acquireWindow() throws InterruptedIOException {
+            try {
+                while (!isOverBudget()) {
+                    if (window.tryAcquire(POLL_MILLIS, TimeUnit.MILLISECONDS))  return true;
+                    checkFailure();
+                }
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the pipeline");
+            }
+        }
+
+        private boolean isOverBudget() {
+            return !timeBudget.isZero() && System.nanoTime() - deadline > 0;
+        }
+
+        // 뒤 단계가 밀리면 큐에 자리가 날 때까지 기다림 (다른 단계가 실패했다면 중단)
+        private <T> void enqueue(BlockingQueue<T> queue, T item) throws InterruptedIOException {
+            try {
+                while (!queue.offer(item, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    checkFailure();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the pipeline");
+            }
+        }
+
+        private <T> T take(BlockingQueue<T> queue) throws InterruptedException {
+            T item;
+            while ((item = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS)) == null) {
+                checkFailure();
+            }
+            return item;
+        }
+
+        private void checkFailure() {
+            if (failure.get() != null) {
+                throw new IllegalStateException("Pipeline stage failed", failure.get());
+            }
+        }
+
+        private Object runStage(String stage, StageLoop loop) throws Exception {
+            try {
+                loop.run();
+                return null;
+            } catch (Exception | Error e) {
+                if (failure.compareAndSet(null, e)) {
+                    log.error("Pipeline " + stage + " stage failed: ", e);
+                }
+                throw e;
+            }
+        }
+
+        private void await(Future<?> stage) throws IOException {
+            try {
+                stage.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the pipeline");
+            } catch (ExecutionException e) {
+                throw new IOException("Pipeline stage failed", e.getCause());
+            }
+        }
+
+        private Timer stageTimer(String stage) {
+            return meterRegistry.timer("batch.pipeline.stage", "stage", stage);
+        }
+    }
+
+    /**
+     * 청약 마감일이 가까운 순서, 청약이 끝났거나 마감일이 없는 상품은 가장 뒤 (같으면 투자설명서 링크, 시트 순서)
+     *
+     * 마감일이 같은 행들은 같은 투자설명서끼리 이어서 꺼내지도록 링크로 묶어서, 문서 캐시에서 밀려나기 전에 재사용되도록 함
+     */
+    private static Comparator<Pending> priority(LocalDate today) {
+        return Comparator.<Pending, Boolean>comparing(pending -> pending.subscriptionEndDate() == null || pending.subscriptionEndDate().isBefore(today))
+                .thenComparing(Pending::subscriptionEndDate, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(Pending::prospectusLink, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparingInt(pending -> pending.row().getRowNum());
+    }
+
+    @FunctionalInterface
+    private interface StageLoop {
+        void run() throws Exception;
+    }
+}
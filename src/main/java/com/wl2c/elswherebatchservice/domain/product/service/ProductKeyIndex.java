@@ -0,0 +1,45 @@
+package com.wl2c.elswherebatchservice.domain.product.service;
+
+import com.wl2c.elswherebatchservice.domain.product.model.dto.ProductKey;
+import com.wl2c.elswherebatchservice.domain.product.model.dto.StoredProductKey;
+import com.wl2c.elswherebatchservice.domain.product.model.entity.Product;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 이미 저장된 상품의 (발행회사, 상품명) 인덱스
+ *
+ * 작업 시작 시 한 번에 불러와서, 행마다 DB 를 조회하지 않고 메모리에서 존재 여부와 상태를 확인
+ * 파이프라인의 여러 단계에서 함께 사용하므로 동시에 읽고 쓸 수 있음
+ */
+public class ProductKeyIndex {
+
+    private final Map<ProductKey, StoredProductKey> products = new ConcurrentHashMap<>();
+
+    private ProductKeyIndex(Collection<StoredProductKey> storedProducts) {
+        // 자연키 제약조건 이전에 중복 저장된 상품이 있다면 ACTIVE 상품을 우선
+        for (StoredProductKey storedProduct : storedProducts) {
+            products.merge(storedProduct.getKey(), storedProduct, (a, b) -> a.isActive() ? a : b);
+        }
+    }
+
+    public static ProductKeyIndex of(Collection<StoredProductKey> storedProducts) {
+        return new ProductKeyIndex(storedProducts);
+    }
+
+    public Optional<StoredProductKey> find(String issuer, String name) {
+        return Optional.ofNullable(products.get(new ProductKey(issuer, name)));
+    }
+
+    public void put(Product product) {
+        StoredProductKey storedProduct = new StoredProductKey(product.getId(), product.getIssuer(), product.getName(), product.getProductState());
+        products.put(storedProduct.getKey(), storedProduct);
+    }
+
+    public int size() {
+        return products.size();
+    }
+}
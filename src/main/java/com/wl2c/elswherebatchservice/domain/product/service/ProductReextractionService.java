@@ -0,0 +1,230 @@
+package com.wl2c.elswherebatchservice.domain.product.service;
+
+import com.wl2c.elswherebatchservice.domain.product.model.ExtractedField;
+import com.wl2c.elswherebatchservice.domain.product.model.MaturityEvaluationDateType;
+import com.wl2c.elswherebatchservice.domain.product.model.dto.ProductExtractionVersions;
+import com.wl2c.elswherebatchservice.domain.product.model.entity.Product;
+import com.wl2c.elswherebatchservice.domain.product.model.entity.ProductTickerSymbol;
+import com.wl2c.elswherebatchservice.domain.product.repository.ProductRepository;
+import com.wl2c.elswherebatchservice.domain.product.service.excel.ProductRowDecoder;
+import com.wl2c.elswherebatchservice.domain.product.service.prospectus.ProspectusIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.nodes.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 추출 방식이 바뀐 항목만 저장된 투자설명서로 다시 추출하는 작업
+ *
+ * 이전 버전의 추출기로 추출된 상품을 투자설명서별로 묶고, 디스크에 저장된 투자설명서를 ForkJoin 풀에서 병렬로 파싱하여
+ * 버전이 낮은 항목만 갱신함. 네트워크로 투자설명서를 다시 받지 않으며, 저장되어 있지 않거나 최대 크기에서 잘린 투자설명서는 건너뜀
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductReextractionService {
+
+    // 0 이하면 CPU 코어 수
+    @Value("${batch.reextraction.parallelism:0}")
+    private int parallelism;
+
+    private final ProductRepository productRepository;
+
+    private final ParsingProspectusService parsingProspectusService;
+    private final ProductRowProcessor productRowProcessor;
+    private final ProductRowDecoder productRowDecoder;
+
+    private final ProductWriteJobLock productWriteJobLock;
+
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    // 재추출 작업은 한 번에 하나만 실행하고, 상품을 갱신하는 다른 작업과도 동시에 실행하지 않음
+    private final ExecutorService reextractionExecutor = Executors.newSingleThreadExecutor();
+
+    /**
+     * 재추출 작업을 비동기로 시작
+     *
+     * @param fields 재추출할 항목 (비어 있다면 모든 항목)
+     * @return 재추출 작업이나 상품을 갱신하는 다른 작업이 실행 중이라면 false
+     */
+    public boolean startReextraction(Set<ExtractedField> fields) {
+        if (!productWriteJobLock.tryAcquire("reextraction"))  return false;
+
+        Set<ExtractedField> targetFields = fields.isEmpty() ? EnumSet.allOf(ExtractedField.class) : EnumSet.copyOf(fields);
+        reextractionExecutor.submit(() -> {
+            try {
+                reextract(targetFields);
+            } catch (Exception e) {
+                log.error("Error processing reextraction: ", e);
+            } finally {
+                productWriteJobLock.release();
+            }
+        });
+        return true;
+    }
+
+    public void reextract(Set<ExtractedField> fields) throws InterruptedException, ExecutionException {
+        long startedAt = System.nanoTime();
+
+        // 투자설명서 링크 -> 재추출 대상 상품
+        Map<String, List<ProductExtractionVersions>> productsByLink = productRepository.findAllExtractionVersions().stream()
+                .filter(product -> fields.stream().anyMatch(product::isStale))
+                .collect(Collectors.groupingBy(ProductExtractionVersions::getProspectusLink));
+        log.info("재추출 대상 투자설명서 " + productsByLink.size() + " 개, 항목 " + fields);
+
+        AtomicInteger updatedProducts = new AtomicInteger();
+        AtomicInteger missingDocuments = new AtomicInteger();
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        try {
+            pool.submit(() -> productsByLink.entrySet().parallelStream().forEach(entry -> {
+                try {
+                    Optional<Document> document = parsingProspectusService.loadStoredDocument(entry.getKey());
+                    if (document.isEmpty()) {
+                        missingDocuments.incrementAndGet();
+                        meterRegistry.counter("batch.reextraction.documents", "result", "missing").increment();
+                        return;
+                    }
+
+                    updatedProducts.addAndGet(reextractDocument(ProspectusIndex.of(document.get()), entry.getValue(), fields));
+                    meterRegistry.counter("batch.reextraction.documents", "result", "updated").increment();
+                } catch (IOException | RuntimeException e) {
+                    meterRegistry.counter("batch.reextraction.documents", "result", "failed").increment();
+                    log.error("Error reextracting prospectus " + entry.getKey() + " : ", e);
+                }
+            })).get();
+        } finally {
+            pool.shutdown();
+        }
+
+        log.info("재추출 완료 : " + updatedProducts.get() + " 개 상품 갱신, 저장되지 않은 투자설명서 " + missingDocuments.get()
+                + " 개, 소요 시간 " + Duration.ofNanos(System.nanoTime() - startedAt));
+    }
+
+    /**
+     * 한 투자설명서의 상품들을 다시 추출하고, 투자설명서 단위로 한 트랜잭션에서 저장
+     */
+    private int reextractDocument(ProspectusIndex prospectus, List<ProductExtractionVersions> products, Set<ExtractedField> fields) {
+        List<Reextracted> results = new ArrayList<>();
+        for (ProductExtractionVersions product : products) {
+            String session = productRowDecoder.findProductSession(product.getName());
+            Reextracted result = new Reextracted(product.getId());
+
+            for (ExtractedField field : fields) {
+                if (!product.isStale(field))  continue;
+
+                result.fields.add(field);
+                switch (field) {
+                    case INITIAL_BASE_PRICE_EVALUATION_DATE -> result.initialBasePriceEvaluationDate =
+                            parsingProspectusService.findInitialBasePriceEvaluationDate(product.getIssuer(), session, prospectus);
+                    case MATURITY_EVALUATION_DATE -> {
+                        result.maturityEvaluationDate = parsingProspectusService.findMaturityEvaluationDate(product.getIssuer(), session, prospectus);
+                        result.maturityEvaluationDateType = parsingProspectusService.findMaturityEvaluationDateCount(product.getIssuer(), session, prospectus);
+                    }
+                    case VOLATILITIES -> {
+                        result.volatilities = Optional.ofNullable(parsingProspectusService.findVolatilities(session, prospectus))
+                                .filter(volatilities -> !volatilities.isEmpty())
+                                .map(volatilities -> volatilities.get(0))
+                                .orElse(null);
+                        result.volatilityByTicker = productRowProcessor.resolveVolatilities(result.volatilities);
+                    }
+                    case EARLY_REPAYMENT_EVALUATION_DATES -> result.earlyRepaymentEvaluationDates =
+                            parsingProspectusService.findEarlyRepaymentEvaluationDates(session, prospectus);
+                }
+            }
+            results.add(result);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> results.forEach(this::apply));
+        return results.size();
+    }
+
+    /**
+     * 새로 추출한 값이 있는 항목만 갱신하고 버전을 올림
+     *
+     * 추출하지 못한 항목(정규식 시간 초과 포함)은 기존 값과 버전을 그대로 두어 다음 재추출 대상으로 남김
+     */
+    private void apply(Reextracted result) {
+        Product product = productRepository.findById(result.productId).orElse(null);
+        if (product == null)  return;
+
+        for (ExtractedField field : result.fields) {
+            boolean extracted = switch (field) {
+                case INITIAL_BASE_PRICE_EVALUATION_DATE -> {
+                    if (result.initialBasePriceEvaluationDate == null)  yield false;
+                    product.reextractInitialBasePriceEvaluationDate(result.initialBasePriceEvaluationDate);
+                    yield true;
+                }
+                case MATURITY_EVALUATION_DATE -> {
+                    if (result.maturityEvaluationDate == null)  yield false;
+                    product.reextractMaturityEvaluationDate(result.maturityEvaluationDate, result.maturityEvaluationDateType);
+                    yield true;
+                }
+                case VOLATILITIES -> {
+                    if (result.volatilities == null)  yield false;
+                    product.reextractVolatilities(result.volatilities);
+                    for (ProductTickerSymbol productTickerSymbol : product.getProductTickerSymbols()) {
+                        productRowProcessor.applyVolatility(productTickerSymbol, result.volatilityByTicker);
+                    }
+                    yield true;
+                }
+                case EARLY_REPAYMENT_EVALUATION_DATES -> {
+                    List<String> dates = result.earlyRepaymentEvaluationDates;
+                    if (dates == null || dates.isEmpty())  yield false;
+                    product.reextractEarlyRepaymentEvaluationDates(
+                            String.join(", ", dates),
+                            dates.stream().map(productRowProcessor::toEarlyRepaymentEvaluationDate).toList());
+                    yield true;
+                }
+            };
+            meterRegistry.counter("batch.reextraction.fields", "field", field.name(), "result", extracted ? "updated" : "missed").increment();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reextractionExecutor.shutdownNow();
+    }
+
+    /**
+     * 한 상품에 대해 다시 추출한 항목들
+     */
+    private static class Reextracted {
+
+        private final Long productId;
+        private final Set<ExtractedField> fields = EnumSet.noneOf(ExtractedField.class);
+
+        private LocalDate initialBasePriceEvaluationDate;
+        private LocalDate maturityEvaluationDate;
+        private MaturityEvaluationDateType maturityEvaluationDateType;
+        private String volatilities;
+        private Map<String, BigDecimal> volatilityByTicker;
+        private List<String> earlyRepaymentEvaluationDates;
+
+        Reextracted(Long productId) {
+            this.productId = productId;
+        }
+    }
+}
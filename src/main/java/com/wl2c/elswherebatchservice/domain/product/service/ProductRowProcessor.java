@@ -0,0 +1,453 @@
+package com.wl2c.elswherebatchservice.domain.product.service;
+
+import com.wl2c.elswherebatchservice.domain.product.model.MaturityEvaluationDateType;
+import com.wl2c.elswherebatchservice.domain.product.model.ProductState;
+import com.wl2c.elswherebatchservice.domain.product.model.RowProcessingResult;
+import com.wl2c.elswherebatchservice.domain.product.model.UnderlyingAssetType;
+import com.wl2c.elswherebatchservice.domain.product.model.dto.NewIssuerMessage;
+import com.wl2c.elswherebatchservice.domain.product.model.dto.NewTickerMessage;
+import com.wl2c.elswherebatchservice.domain.product.model.dto.PreparedProduct;
+import com.wl2c.elswherebatchservice.domain.product.model.dto.ProductClassification;
+import com.wl2c.elswherebatchservice.domain.product.model.dto.ProspectusExtraction;
+import com.wl2c.elswherebatchservice.domain.product.model.dto.ProductRow;
+import com.wl2c.elswherebatchservice.domain.product.model.dto.ProspectusCorrectionReportMessage;
+import com.wl2c.elswherebatchservice.domain.product.model.dto.RowSideEffects;
+import com.wl2c.elswherebatchservice.domain.product.model.dto.StoredProductKey;
+import com.wl2c.elswherebatchservice.domain.product.model.entity.*;
+import com.wl2c.elswherebatchservice.domain.product.repository.ProductRepository;
+import com.wl2c.elswherebatchservice.domain.product.repository.TickerSymbolRepository;
+import com.wl2c.elswherebatchservice.domain.product.service.alias.EquityDictionary;
+import com.wl2c.elswherebatchservice.domain.product.service.prospectus.KrxDisclosureService;
+import com.wl2c.elswherebatchservice.domain.product.service.prospectus.ProspectusDocumentCache;
+import com.wl2c.elswherebatchservice.domain.product.service.prospectus.ProspectusIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * 엑셀 한 행을 상품으로 변환하여 저장
+ *
+ * 투자설명서 조회/파싱(prepare)과 DB 저장(write)을 나누어,
+ * 네트워크 작업 동안에는 트랜잭션과 커넥션을 잡고 있지 않도록 함
+ * 준비 중에 생긴 임시 Ticker 는 저장 트랜잭션 안에서 저장하고, 알림은 커밋된 뒤에 보냄({@link #publish})
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductRowProcessor {
+
+    private static final DateTimeFormatter KOREAN_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy년 MM월 dd일");
+
+    private final ProductRepository productRepository;
+    private final TickerSymbolRepository tickerSymbolRepository;
+    private final EquityDictionary equityDictionary;
+
+    private final ParsingProspectusService parsingProspectusService;
+    private final ProspectusDocumentCache prospectusDocumentCache;
+    private final KrxDisclosureService krxDisclosureService;
+    private final NewTickerMessageSender newTickerMessageSender;
+    private final NewIssuerMessageSender newIssuerMessageSender;
+    private final ProspectusCorrectionReportMessageSender prospectusCorrectionReportMessageSender;
+
+    /**
+     * 엑셀 한 행에 대해 투자설명서 조회/파싱 등 저장 전까지의 작업을 수행 (트랜잭션 밖에서 호출)
+     *
+     * @return 저장할 상품과 하위 엔티티 정보, 행 처리 결과
+     */
+    public PreparedProduct prepare(ProductRow row, ProductKeyIndex productKeyIndex) throws IOException {
+        return prepare(row, productKeyIndex, findProspectusLink(row), null);
+    }
+
+    /**
+     * 파이프라인의 조회 단계에서 미리 받아온 투자설명서로 준비
+     *
+     * @param prefetched 미리 받아온 투자설명서 (없다면 캐시에서 조회)
+     */
+    public PreparedProduct prepare(ProductRow row,
+                                   ProductKeyIndex productKeyIndex,
+                                   String prospectusLink,
+                                   ProspectusIndex prefetched) throws IOException {
+        int r = row.getRowNum();
+        String name = row.getName();
+        ProductClassification classification = row.getClassification();
+        String session = classification.getProductSession();
+
+        log.info(name);
+        log.info(r+1 + " - 낙인:" + classification.getKnockIn());
+        log.info(r+1 + " - 유형:" + classification.getProductType());
+        log.info(r+1 + " - 유형2:" + classification.getProductInfo());
+
+        RowSideEffects sideEffects = new RowSideEffects();
+
+        // 이미 ACTIVE 상태로 존재하면 패스
+        Optional<StoredProductKey> storedProduct = productKeyIndex.find(row.getIssuer(), name);
+        if (storedProduct.isPresent() && storedProduct.get().isActive())    return PreparedProduct.of(row, RowProcessingResult.ALREADY_EXISTS);
+
+        // 저장되어 있지 않은 새로운 발행회사라면 알림 후, 패스
+        if (!findIssuer(row, sideEffects)) return PreparedProduct.of(row, RowProcessingResult.SKIPPED, sideEffects);
+
+        if (prospectusLink != null) {
+
+            // 같은 투자설명서를 가리키는 직전 행들이 받아온 문서와 추출 결과를 재사용
+            ProspectusIndex prospectus = prefetched != null ? prefetched : prospectusDocumentCache.get(prospectusLink);
+
+            // 정정신고한 투자설명서라면 알림
+            if (parsingProspectusService.isCorrectionReport(prospectus)) {
+                sideEffects.correctionReport(ProspectusCorrectionReportMessage.builder()
+                        .productName(name)
+                        .prospectusLink(prospectusLink)
+                        .build());
+            }
+
+            // 기초자산 db
+            List<String> equities = row.getEquities();
+            Map<String, TickerSymbol> tickerSymbols = new LinkedHashMap<>();
+            int equityCount = row.getEquityCount(), productUnderlyingAssetScore = 0;
+            for (String equity : equities) {
+                Optional<TickerSymbol> tickerSymbol = equityDictionary.find(equity);
+                if (tickerSymbol.isPresent() && !Objects.equals(tickerSymbol.get().getTickerSymbol(), "NEED_TO_CHECK")) {
+                    tickerSymbols.put(equity, tickerSymbol.get());
+                    if (tickerSymbol.get().getUnderlyingAssetType().equals(UnderlyingAssetType.INDEX))
+                        productUnderlyingAssetScore++;
+                } else {
+                    productUnderlyingAssetScore = -1;
+
+                    log.warn(name + " : " + "기초자산 " +equity + " 에 대해서 Ticker가 존재하지 않음 업데이트 필요");
+                    NewTickerMessage newTickerMessage = NewTickerMessage.builder()
+                            .productName(name)
+                            .equity(equity)
+                            .build();
+                    sideEffects.newTicker(newTickerMessage);
+                }
+            }
+
+            if (productUnderlyingAssetScore == -1)  return PreparedProduct.of(row, RowProcessingResult.SKIPPED, sideEffects);
+
+            // 해당 회차에 대한 투자설명서 정보를 한 번에 추출
+            // 변동성을 찾지 못했거나 파싱이 제한 시간을 넘긴 경우 변동성 없이 저장
+            ProspectusExtraction extraction = parsingProspectusService.extract(row.getIssuer(), session, prospectus);
+            log.info(r+1 + " - 변동성:" + extraction.getVolatilitiesList());
+
+            // 기초자산들이 정상적으로 존재하는 경우에 동작
+            Product product = Product.builder()
+                    .issuer(row.getIssuer())
+                    .name(name)
+                    .issueNumber(classification.getIssueNumber())
+                    .equities(row.getJoinedEquities())
+                    .equityCount(row.getEquityCount())
+                    .issuedDate(row.getIssuedDate())
+                    .maturityEvaluationDate(extraction.getMaturityEvaluationDate())
+                    .maturityEvaluationDateType(extraction.getMaturityEvaluationDateType())
+                    .maturityDate(row.getMaturityDate())
+                    .yieldIfConditionsMet(row.getYieldIfConditionsMet())
+                    .maximumLossRate(row.getMaximumLossRate())
+                    .subscriptionStartDate(row.getSubscriptionStartDate())
+                    .subscriptionEndDate(row.getSubscriptionEndDate())
+                    .productFullInfo(row.getProductFullInfo())
+                    .productInfo(classification.getProductInfo())
+                    .link(row.getLink())
+                    .remarks(row.getRemarks())
+                    .knockIn(classification.getKnockIn())
+                    .summaryInvestmentProspectusLink(prospectusLink)
+                    .earlyRepaymentEvaluationDates(Optional.ofNullable(extraction.getEarlyRepaymentEvaluationDates())
+                            .map(dates -> String.join(", ", dates))
+                            .orElse(null)
+                    )
+                    .volatilites(extraction.getVolatilities())
+                    .initialBasePriceEvaluationDate(extraction.getInitialBasePriceEvaluationDate())
+                    .productType(classification.getProductType())
+                    .underlyingAssetType(checkUnderlyingAssetType(productUnderlyingAssetScore, equityCount))
+                    .productState(ProductState.ACTIVE)
+                    .build();
+            product.stampExtractorVersions();
+
+            return PreparedProduct.withProspectus(
+                    row,
+                    storedProduct.orElse(null),
+                    product,
+                    tickerSymbols,
+                    extraction.getVolatilities(),
+                    extraction.getEarlyRepaymentEvaluationDates(),
+                    sideEffects);
+        } else {
+
+            // 이미 INACTIVE 로 저장된 상품이라면 투자설명서가 공시될 때까지 그대로 둠
+            if (storedProduct.isPresent())  return PreparedProduct.of(row, RowProcessingResult.WAITING_FOR_PROSPECTUS, sideEffects);
+
+            // 기초자산 db
+            List<String> equities = row.getEquities();
+            int equityCount = row.getEquityCount(), productUnderlyingAssetScore = 0;
+            for (String equity : equities) {
+                Optional<TickerSymbol> tickerSymbol = equityDictionary.find(equity);
+                if (tickerSymbol.isPresent() && !Objects.equals(tickerSymbol.get().getTickerSymbol(), "NEED_TO_CHECK")) {
+                    if (tickerSymbol.get().getUnderlyingAssetType().equals(UnderlyingAssetType.INDEX))
+                        productUnderlyingAssetScore++;
+                } else {
+                    productUnderlyingAssetScore = -1;
+
+                    log.warn(name + " : " + "기초자산 " + equity + " 에 대해서 Ticker가 존재하지 않음 업데이트 필요");
+                    NewTickerMessage newTickerMessage = NewTickerMessage.builder()
+                            .productName(name)
+                            .equity(equity)
+                            .build();
+                    sideEffects.newTicker(newTickerMessage);
+
+                    // 확인이 필요한 임시 Ticker 가 이미 있다면 패스
+                    if (tickerSymbol.isPresent()) continue;
+
+                    sideEffects.temporaryEquity(equity);
+                }
+            }
+
+            Product product = Product.builder()
+                    .issuer(row.getIssuer())
+                    .name(name)
+                    .issueNumber(classification.getIssueNumber())
+                    .equities(row.getJoinedEquities())
+                    .equityCount(row.getEquityCount())
+                    .issuedDate(row.getIssuedDate())
+                    .maturityEvaluationDateType(MaturityEvaluationDateType.UNKNOWN)
+                    .maturityDate(row.getMaturityDate())
+                    .yieldIfConditionsMet(row.getYieldIfConditionsMet())
+                    .maximumLossRate(row.getMaximumLossRate())
+                    .subscriptionStartDate(row.getSubscriptionStartDate())
+                    .subscriptionEndDate(row.getSubscriptionEndDate())
+                    .productFullInfo(row.getProductFullInfo())
+                    .productInfo(classification.getProductInfo())
+                    .link(row.getLink())
+                    .remarks(row.getRemarks())
+                    .productType(classification.getProductType())
+                    .underlyingAssetType(checkUnderlyingAssetType(productUnderlyingAssetScore, equityCount))
+                    .productState(ProductState.INACTIVE)
+                    .build();
+
+            return PreparedProduct.withoutProspectus(row, product, sideEffects);
+        }
+    }
+
+    /**
+     * 준비된 상품과 하위 엔티티를 저장 (청크 트랜잭션 안에서 호출)
+     *
+     * 하위 엔티티(기초자산, 변동성, 조기상환일)는 cascade 로 함께 저장되어 커밋 시점에 배치로 insert 됨
+     *
+     * @return 저장된 상품
+     */
+    public Product write(PreparedProduct prepared) {
+        // INACTIVE 로 저장되어 있던 상품이라면 새 정보로 갱신
+        Product product = saveOrUpdate(prepared.getStoredProduct(), prepared.getProduct());
+        if (prepared.getResult() != RowProcessingResult.SAVED)  return product;
+
+        // 변동성은 상품마다 한 번만 파싱해서 기초자산들과 연결
+        Map<String, BigDecimal> volatilityByTicker = resolveVolatilities(prepared.getVolatilities());
+        for (Map.Entry<String, TickerSymbol> entry : prepared.getTickerSymbols().entrySet()) {
+            TickerSymbol tickerSymbol = entry.getValue();
+            ProductTickerSymbol productTickerSymbol = ProductTickerSymbol.builder()
+                    .product(product)
+                    .tickerSymbol(tickerSymbol)
+                    .build();
+            product.addProductTickerSymbol(productTickerSymbol);
+
+            applyVolatility(productTickerSymbol, volatilityByTicker);
+        }
+
+        // 조기상환일 db
+        for (String earlyRepaymentEvaluationDateStr : prepared.getEarlyRepaymentEvaluationDates()) {
+            EarlyRepaymentEvaluationDates earlyRepaymentEvaluationDates = EarlyRepaymentEvaluationDates.builder()
+                    .product(product)
+                    .earlyRepaymentEvaluationDate(toEarlyRepaymentEvaluationDate(earlyRepaymentEvaluationDateStr))
+                    .build();
+            product.addEarlyRepaymentEvaluationDates(earlyRepaymentEvaluationDates);
+        }
+
+        return product;
+    }
+
+    /**
+     * 확인이 필요한 임시 Ticker 를 저장 (청크 트랜잭션 안에서 호출)
+     *
+     * 같은 청크의 앞선 행이 이미 저장한 기초자산은 다시 저장하지 않음
+     *
+     * @return 새로 저장한 임시 Ticker (커밋된 뒤에 {@link #publish} 로 기초자산 사전에 등록)
+     */
+    public List<TickerSymbol> saveTemporaryTickerSymbols(PreparedProduct prepared) {
+        List<TickerSymbol> saved = new ArrayList<>();
+        for (String equity : prepared.getSideEffects().getTemporaryEquities()) {
+            if (tickerSymbolRepository.existsByEquityName(equity))  continue;
+
+            TickerSymbol temporaryTickerSymbol = TickerSymbol.builder()
+                    .tickerSymbol("NEED_TO_CHECK")
+                    .equityName(equity)
+                    .underlyingAssetType(UnderlyingAssetType.NEED_TO_CHECK)
+                    .build();
+            saved.add(tickerSymbolRepository.save(temporaryTickerSymbol));
+        }
+        return saved;
+    }
+
+    /**
+     * 커밋된 행의 임시 Ticker 를 기초자산 사전에 등록하고 알림을 보냄 (커밋된 뒤에 호출)
+     *
+     * 청크 저장에 실패해서 행 단위로 다시 저장하더라도 알림은 한 번만 보내도록, 커밋된 행에 대해서만 호출함
+     * 이미 커밋된 행이므로 알림 전송에 실패해도 예외를 던지지 않음
+     */
+    public void publish(PreparedProduct prepared, List<TickerSymbol> temporaryTickerSymbols) {
+        temporaryTickerSymbols.forEach(equityDictionary::register);
+
+        RowSideEffects sideEffects = prepared.getSideEffects();
+        String name = prepared.getRow().getName();
+        try {
+            if (sideEffects.getNewIssuerMessage() != null) {
+                newIssuerMessageSender.send("new-issuer-alert", sideEffects.getNewIssuerMessage());
+            }
+            if (sideEffects.getProspectusCorrectionReportMessage() != null) {
+                prospectusCorrectionReportMessageSender.send("prospectus-correction-report-alert", sideEffects.getProspectusCorrectionReportMessage());
+                log.warn("상품명 " + name + " : 투자설명서 정정신고된 상품");
+            }
+            for (NewTickerMessage newTickerMessage : sideEffects.getNewTickerMessages()) {
+                newTickerMessageSender.send("new-ticker-alert", newTickerMessage);
+            }
+        } catch (RuntimeException e) {
+            log.warn("상품명 " + name + " : 알림 전송 실패 " + e);
+        }
+    }
+
+    /**
+     * 투자설명서의 변동성 문자열(ex. "[기초자산명] : 20.5% / 기초자산명 : 18.1%")을 한 번만 파싱하여 Ticker 별 변동성으로 변환
+     *
+     * 기초자산명은 메모리의 기초자산 사전으로 찾으므로 DB 를 조회하지 않음
+     */
+    public Map<String, BigDecimal> resolveVolatilities(String volatilites) {
+        Map<String, BigDecimal> volatilityByTicker = new HashMap<>();
+        if (volatilites == null)  return volatilityByTicker;
+
+        for (String volatility : volatilites.split(" / ")) {
+
+            String[] subParts = volatility.split(" : "); // subParts[0] : 기초자산명, subParts[1] : 변동성(%)
+            if (subParts.length < 2) {
+                log.warn("변동성 형식이 아님 : " + volatility);
+                continue;
+            }
+
+            String equityName = subParts[0];
+            if (equityName.startsWith("[") && equityName.endsWith("]")) {
+                equityName = equityName.substring(1, equityName.length() - 1);
+            }
+            BigDecimal percentage = new BigDecimal(subParts[1].replace("%", ""));
+
+            equityDictionary.find(equityName)
+                    .ifPresent(tickerSymbol -> volatilityByTicker.put(tickerSymbol.getTickerSymbol(), percentage));
+        }
+        return volatilityByTicker;
+    }
+
+    /**
+     * 해당 기초자산의 변동성을 연결 (이미 있다면 값만 갱신)
+     *
+     * @param volatilityByTicker {@link #resolveVolatilities(String)} 의 결과
+     */
+    public void applyVolatility(ProductTickerSymbol productTickerSymbol, Map<String, BigDecimal> volatilityByTicker) {
+        BigDecimal volatility = volatilityByTicker.get(productTickerSymbol.getTickerSymbol().getTickerSymbol());
+        if (volatility == null)  return;
+
+        ProductEquityVolatility existing = productTickerSymbol.getProductEquityVolatility();
+        if (existing != null) {
+            existing.updateVolatility(volatility);
+            return;
+        }
+
+        ProductEquityVolatility productEquityVolatility = ProductEquityVolatility.builder()
+                .productTickerSymbol(productTickerSymbol)
+                .volatility(volatility)
+                .build();
+        productTickerSymbol.setProductEquityVolatility(productEquityVolatility);
+    }
+
+    public LocalDate toEarlyRepaymentEvaluationDate(String earlyRepaymentEvaluationDateStr) {
+        return convertToLocalDateFromKoreanFormat(earlyRepaymentEvaluationDateStr.split(": ")[1]);
+    }
+
+    private Product saveOrUpdate(StoredProductKey storedProduct, Product product) {
+        // 준비된 상품은 저장에 실패하면 다시 쓰일 수 있으므로 복사본을 저장
+        if (storedProduct == null) {
+            return productRepository.save(product.copy());
+        }
+
+        Product existingProduct = productRepository.findById(storedProduct.getId())
+                .orElseThrow(() -> new IllegalStateException("Product not found : " + storedProduct));
+        existingProduct.update(product);
+        return existingProduct;
+    }
+
+    private boolean findIssuer(ProductRow row, RowSideEffects sideEffects) {
+
+        // 상품명에 등록된 발행회사명이 포함되어 있는지 확인
+        if (row.getClassification().getNameIssuer() == null) {
+            NewIssuerMessage newIssuerMessage = NewIssuerMessage.builder()
+                    .productName(row.getName())
+                    .issuer(row.getIssuer())
+                    .build();
+            sideEffects.newIssuer(newIssuerMessage);
+            log.warn(row.getIssuer() + " : " + "상품명 " + row.getName() + " 에 대한 발행회사명 추가 업데이트 필요");
+
+            return false;
+        }
+        return true;
+
+    }
+
+    /**
+     * 투자설명서를 받아와야 하는 행인지 (이미 ACTIVE 로 저장되었거나 발행회사를 알 수 없다면 받아오지 않음)
+     */
+    public boolean needsProspectus(ProductRow row, ProductKeyIndex productKeyIndex) {
+        if (row.getClassification().getNameIssuer() == null)  return false;
+        return productKeyIndex.find(row.getIssuer(), row.getName())
+                .map(storedProduct -> !storedProduct.isActive())
+                .orElse(true);
+    }
+
+    /**
+     * 투자설명서 링크 (회차 또는 상품명의 발행회사를 알 수 없다면 null)
+     */
+    public String findProspectusLink(ProductRow row) {
+        ProductClassification classification = row.getClassification();
+        return krxDisclosureService.findProspectusLink(classification.getProductSession(), classification.getNameIssuer());
+    }
+
+    private LocalDate convertToLocalDateFromKoreanFormat(String dateString) {
+        return LocalDate.parse(dateString, KOREAN_DATE_FORMATTER);
+    }
+
+    private UnderlyingAssetType checkUnderlyingAssetType(int score, int underlyingAssetCount) {
+        /**
+         * 각 기초자산에 대해서 지수형(INDEX)이면 score += 1
+         * TickerSymbol에 존재하지 않는 기초자산이라면 score = -1로 설정했음
+         *
+         *          개수  1   2   3
+         *  유형
+         *  INDEX        1   2   3
+         *  STOCK        0   0   0
+         *  MIX          x   1   1or2
+         */
+
+        if (score == underlyingAssetCount)
+            return UnderlyingAssetType.INDEX;
+        if (score == 0)
+            return UnderlyingAssetType.STOCK;
+        if ((score != -1) && (score < underlyingAssetCount))
+            return UnderlyingAssetType.MIX;
+        return UnderlyingAssetType.NEED_TO_CHECK;
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.wl2c.elswherebatchservice.domain.product.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 상품을 갱신하는 작업(엑셀 적재, 실패한 행 재시도, 백필, 재추출)이 동시에 실행되지 않도록 함
+ *
+ * 상품 엔티티에는 낙관적 잠금(@Version)이 없으므로, 두 작업이 같은 상품을 읽고 각자 저장하면 한쪽의 변경이 사라짐.
+ * 비동기 작업은 요청 스레드에서 잡고 작업 스레드에서 놓으므로 ReentrantLock 대신 Semaphore 를 사용
+ */
+@Component
+public class ProductWriteJobLock {
+
+    private final Semaphore semaphore = new Semaphore(1);
+    private volatile String runningJob;
+
+    /**
+     * @return 다른 작업이 실행 중이라면 false
+     */
+    public boolean tryAcquire(String job) {
+        if (!semaphore.tryAcquire())  return false;
+        runningJob = job;
+        return true;
+    }
+
+    public void release() {
+        runningJob = null;
+        semaphore.release();
+    }
+
+    public Optional<String> getRunningJob() {
+        return Optional.ofNullable(runningJob);
+    }
+}
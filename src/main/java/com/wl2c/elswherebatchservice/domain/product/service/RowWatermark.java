@@ -0,0 +1,39 @@
+package com.wl2c.elswherebatchservice.domain.product.service;
+
+import java.util.BitSet;
+
+/**
+ * 처리를 마친 행 번호를 모아서, 앞선 행이 모두 처리된 마지막 행 번호를 계산
+ */
+class RowWatermark {
+
+    private final BitSet completed = new BitSet();
+    private int watermark;
+
+    RowWatermark(int watermark) {
+        this.watermark = watermark;
+    }
+
+    synchronized void complete(int rowNum) {
+        completed.set(rowNum);
+        advance();
+    }
+
+    // fromRow 이상 toRow 미만
+    synchronized void complete(int fromRow, int toRow) {
+        if (fromRow >= toRow)  return;
+        completed.set(fromRow, toRow);
+        advance();
+    }
+
+    synchronized int get() {
+        return watermark;
+    }
+
+    private void advance() {
+        while (completed.get(watermark + 1)) {
+            completed.clear(watermark + 1);
+            watermark++;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.wl2c.elswherebatchservice.domain.product.service.alias;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * 발행회사명, 기초자산명 비교용 정규화
+ *
+ * 전각/반각, 대소문자, 공백, 괄호 차이와 "보통주" 표기 여부는 같은 이름으로 봄 (ex. "삼성전자 (보통주)" -> "삼성전자")
+ */
+public final class AliasNormalizer {
+
+    private static final String COMMON_STOCK_SUFFIX = "보통주";
+
+    private AliasNormalizer() {
+    }
+
+    public static String normalize(String text) {
+        if (text == null)  return "";
+
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder builder = new StringBuilder(normalized.length());
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (Character.isWhitespace(c) || Character.isSpaceChar(c))  continue;
+            if (c == '(' || c == ')' || c == '[' || c == ']')  continue;
+            builder.append(c);
+        }
+
+        int length = builder.length();
+        if (length > COMMON_STOCK_SUFFIX.length() && builder.lastIndexOf(COMMON_STOCK_SUFFIX) == length - COMMON_STOCK_SUFFIX.length()) {
+            builder.setLength(length - COMMON_STOCK_SUFFIX.length());
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,116 @@
+package com.wl2c.elswherebatchservice.domain.product.service.alias;
+
+import com.wl2c.elswherebatchservice.domain.product.service.classification.AhoCorasick;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 정규화한 별칭을 키로 하는 트라이
+ *
+ * 같은 별칭이 여러 번 등록되면 먼저 등록한 값을 사용함. 생성 후 변경하지 않으면 여러 스레드에서 동시에 읽어도 됨
+ * 문자열 안의 별칭 검색은 등록된 별칭으로 만든 {@link AhoCorasick} 오토마톤으로 한 번만 훑음
+ */
+final class AliasTrie<T> {
+
+    private final Node<T> root = new Node<>();
+    private int size;
+
+    // 등록 순서대로의 별칭과 값 (인덱스가 오토마톤의 키워드 번호)
+    private final List<String> keys = new ArrayList<>();
+    private final List<T> values = new ArrayList<>();
+
+    // 처음 검색할 때 만들고, 별칭이 추가되면 다시 만듦
+    private volatile AhoCorasick automaton;
+
+    /**
+     * @return 새로 등록되었다면 true
+     */
+    boolean put(String alias, T value) {
+        String key = AliasNormalizer.normalize(alias);
+        if (key.isEmpty())  return false;
+
+        Node<T> node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.children.computeIfAbsent(key.charAt(i), c -> new Node<>());
+        }
+        if (node.value != null)  return false;
+
+        node.value = value;
+        size++;
+        keys.add(key);
+        values.add(value);
+        automaton = null;
+        return true;
+    }
+
+    /**
+     * 정규화한 이름이 별칭과 정확히 같은 값
+     */
+    T get(String name) {
+        Node<T> node = root;
+        String key = AliasNormalizer.normalize(name);
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.children.get(key.charAt(i));
+        }
+        return node == null ? null : node.value;
+    }
+
+    /**
+     * 정규화한 문자열 안에 포함된 별칭의 값을 앞에서부터 전달
+     *
+     * 겹치는 별칭은 가장 긴 것 하나만 사용함 (ex. "신한투자증권" 안의 "신한" 은 전달하지 않음)
+     */
+    void scan(String text, Consumer<T> consumer) {
+        if (keys.isEmpty())  return;
+
+        AhoCorasick current = automaton;
+        if (current == null) {
+            current = new AhoCorasick(keys);
+            automaton = current;
+        }
+
+        String key = AliasNormalizer.normalize(text);
+        List<int[]> matches = new ArrayList<>();
+        current.scan(key, (keywordId, start) -> matches.add(new int[]{keywordId, start}));
+
+        // 긴 별칭부터 고르고, 이미 고른 별칭과 겹치면 버림 (길이가 같으면 앞선 것)
+        matches.sort(Comparator.<int[]>comparingInt(match -> keys.get(match[0]).length()).reversed()
+                .thenComparingInt(match -> match[1]));
+        boolean[] covered = new boolean[key.length()];
+        List<int[]> selected = new ArrayList<>();
+        for (int[] match : matches) {
+            int start = match[1], end = start + keys.get(match[0]).length();
+            if (isCovered(covered, start, end))  continue;
+            Arrays.fill(covered, start, end, true);
+            selected.add(match);
+        }
+
+        selected.sort(Comparator.comparingInt(match -> match[1]));
+        for (int[] match : selected) {
+            consumer.accept(values.get(match[0]));
+        }
+    }
+
+    private static boolean isCovered(boolean[] covered, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (covered[i])  return true;
+        }
+        return false;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static final class Node<T> {
+
+        private final Map<Character, Node<T>> children = new HashMap<>();
+        private T value;
+    }
+}
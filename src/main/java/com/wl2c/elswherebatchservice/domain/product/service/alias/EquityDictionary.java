@@ -0,0 +1,117 @@
+package com.wl2c.elswherebatchservice.domain.product.service.alias;
+
+import com.wl2c.elswherebatchservice.domain.product.model.entity.TickerSymbol;
+import com.wl2c.elswherebatchservice.domain.product.repository.TickerSymbolRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 기초자산명으로 Ticker 를 찾는 사전
+ *
+ * 엑셀과 투자설명서의 기초자산명은 띄어쓰기, "보통주" 표기 등이 조금씩 달라서, 등록된 기초자산명과 별칭(batch.alias.equities, "별칭=기초자산명")을
+ * 정규화하여 트라이에 담아 두고 찾음. 정확히 같은 이름의 정식 Ticker 를 우선 사용하며, 확인이 필요한 임시 Ticker 보다 정식 Ticker 를 우선함
+ *
+ * Ticker 목록은 refresh-interval 마다 다시 읽음
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EquityDictionary {
+
+    private static final String NEED_TO_CHECK = "NEED_TO_CHECK";
+
+    @Value("${batch.alias.equities:}")
+    private List<String> equityAliases;
+
+    @Value("${batch.alias.refresh-interval:10m}")
+    private Duration refreshInterval;
+
+    private final TickerSymbolRepository tickerSymbolRepository;
+    private final MeterRegistry meterRegistry;
+
+    private volatile Snapshot snapshot;
+
+    // 이번 실행에서 새로 저장한 임시 Ticker (다시 읽기 전에도 같은 기초자산의 임시 Ticker 를 중복 저장하지 않도록)
+    private final Map<String, TickerSymbol> registered = new ConcurrentHashMap<>();
+
+    /**
+     * 기초자산명에 해당하는 Ticker (확인이 필요한 임시 Ticker 일 수 있음)
+     */
+    public Optional<TickerSymbol> find(String equityName) {
+        Snapshot current = currentSnapshot();
+
+        TickerSymbol tickerSymbol = current.exact.get(equityName);
+        if (tickerSymbol != null) {
+            meterRegistry.counter("batch.alias.lookups", "dictionary", "equity", "result", "exact").increment();
+            return Optional.of(tickerSymbol);
+        }
+
+        tickerSymbol = current.trie.get(equityName);
+        if (tickerSymbol == null)  tickerSymbol = registered.get(AliasNormalizer.normalize(equityName));
+        meterRegistry.counter("batch.alias.lookups", "dictionary", "equity", "result", tickerSymbol != null ? "variant" : "miss").increment();
+        return Optional.ofNullable(tickerSymbol);
+    }
+
+    /**
+     * 새로 저장한 Ticker 를 다음에 다시 읽기 전까지 함께 찾을 수 있도록 등록
+     */
+    public void register(TickerSymbol tickerSymbol) {
+        registered.putIfAbsent(AliasNormalizer.normalize(tickerSymbol.getEquityName()), tickerSymbol);
+    }
+
+    /**
+     * Ticker 목록을 다시 읽음 (작업 시작 시점 등)
+     */
+    public synchronized void refresh() {
+        List<TickerSymbol> tickerSymbols = new ArrayList<>(tickerSymbolRepository.findAll());
+
+        // 정식 Ticker 를 먼저 등록해서 정규화한 이름이 겹치면 정식 Ticker 를 사용
+        tickerSymbols.sort(Comparator.comparing(tickerSymbol -> NEED_TO_CHECK.equals(tickerSymbol.getTickerSymbol())));
+
+        Map<String, TickerSymbol> exact = new HashMap<>();
+        AliasTrie<TickerSymbol> trie = new AliasTrie<>();
+        for (TickerSymbol tickerSymbol : tickerSymbols) {
+            if (!NEED_TO_CHECK.equals(tickerSymbol.getTickerSymbol()))  exact.putIfAbsent(tickerSymbol.getEquityName(), tickerSymbol);
+            trie.put(tickerSymbol.getEquityName(), tickerSymbol);
+        }
+
+        for (String equityAlias : equityAliases) {
+            String[] aliasAndName = equityAlias.split("=", 2);
+            TickerSymbol tickerSymbol = aliasAndName.length == 2 ? exact.get(aliasAndName[1].trim()) : null;
+            if (tickerSymbol == null) {
+                log.warn("등록되지 않은 기초자산에 대한 별칭 : " + equityAlias);
+                continue;
+            }
+            trie.put(aliasAndName[0], tickerSymbol);
+        }
+
+        snapshot = new Snapshot(exact, trie, System.nanoTime() + refreshInterval.toNanos());
+        log.info("기초자산 사전 : Ticker " + exact.size() + " 개, 정규화한 이름 " + trie.size() + " 개");
+    }
+
+    private Snapshot currentSnapshot() {
+        Snapshot current = snapshot;
+        if (current == null || System.nanoTime() - current.refreshAt() >= 0) {
+            synchronized (this) {
+                if (current == snapshot)  refresh();
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    private record Snapshot(Map<String, TickerSymbol> exact, AliasTrie<TickerSymbol> trie, long refreshAt) {
+    }
+}
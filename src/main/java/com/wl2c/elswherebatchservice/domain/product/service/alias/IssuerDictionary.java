@@ -0,0 +1,60 @@
+package com.wl2c.elswherebatchservice.domain.product.service.alias;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 상품명에 포함된 발행회사명을 찾는 사전
+ *
+ * 등록된 발행회사명과 별칭(batch.alias.issuers, "별칭=발행회사명")을 정규화하여 트라이에 담아 두고, 상품명을 한 번 훑어서 찾음.
+ * 여러 발행회사명이 포함되어 있으면 issuers 설정에서 앞에 있는 발행회사를 사용함
+ */
+@Component
+@Slf4j
+public class IssuerDictionary {
+
+    // 발행사 리스트
+    @Value("#{'${issuers}'.split(', ')}")
+    private List<String> issuers;
+
+    @Value("${batch.alias.issuers:}")
+    private List<String> issuerAliases;
+
+    private AliasTrie<Entry> trie;
+
+    @PostConstruct
+    public void init() {
+        AliasTrie<Entry> built = new AliasTrie<>();
+        for (int i = 0; i < issuers.size(); i++) {
+            built.put(issuers.get(i), new Entry(issuers.get(i), i));
+        }
+        for (String issuerAlias : issuerAliases) {
+            String[] aliasAndIssuer = issuerAlias.split("=", 2);
+            int priority = aliasAndIssuer.length == 2 ? issuers.indexOf(aliasAndIssuer[1].trim()) : -1;
+            if (priority == -1) {
+                log.warn("등록되지 않은 발행회사에 대한 별칭 : " + issuerAlias);
+                continue;
+            }
+            built.put(aliasAndIssuer[0], new Entry(issuers.get(priority), priority));
+        }
+        trie = built;
+    }
+
+    /**
+     * @return 상품명에 포함된 발행회사명 (등록되지 않은 발행회사라면 null)
+     */
+    public String findIssuer(String name) {
+        Entry[] found = new Entry[1];
+        trie.scan(name, entry -> {
+            if (found[0] == null || entry.priority() < found[0].priority())  found[0] = entry;
+        });
+        return found[0] == null ? null : found[0].issuer();
+    }
+
+    private record Entry(String issuer, int priority) {
+    }
+}
@@ -0,0 +1,109 @@
+package com.wl2c.elswherebatchservice.domain.product.service.classification;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * 여러 키워드를 문자열 한 번 훑는 것으로 모두 찾는 Aho-Corasick 오토마톤
+ *
+ * 생성 후에는 변경하지 않으므로 여러 스레드에서 동시에 사용해도 됨 (분류 규칙과 별칭 사전에서 함께 사용)
+ */
+public final class AhoCorasick {
+
+    private final List<Map<Character, Integer>> transitions = new ArrayList<>();
+    private final int[] failures;
+    private final int[][] outputs;
+    private final int[] lengths;
+
+    /**
+     * @param keywords 키워드 (인덱스가 매칭 결과의 키워드 번호)
+     */
+    public AhoCorasick(List<String> keywords) {
+        transitions.add(new HashMap<>());
+        List<List<Integer>> ownOutputs = new ArrayList<>();
+        ownOutputs.add(new ArrayList<>());
+
+        lengths = new int[keywords.size()];
+        for (int id = 0; id < keywords.size(); id++) {
+            String keyword = keywords.get(id);
+            if (keyword.isEmpty())  throw new IllegalArgumentException("Empty keyword");
+            lengths[id] = keyword.length();
+
+            int state = 0;
+            for (int i = 0; i < keyword.length(); i++) {
+                Integer next = transitions.get(state).get(keyword.charAt(i));
+                if (next == null) {
+                    next = transitions.size();
+                    transitions.get(state).put(keyword.charAt(i), next);
+                    transitions.add(new HashMap<>());
+                    ownOutputs.add(new ArrayList<>());
+                }
+                state = next;
+            }
+            ownOutputs.get(state).add(id);
+        }
+
+        // 너비 우선으로 실패 링크를 계산하고, 실패 링크를 따라 끝나는 키워드도 함께 출력하도록 합침
+        failures = new int[transitions.size()];
+        outputs = new int[transitions.size()][];
+        outputs[0] = toArray(ownOutputs.get(0));
+
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int child : transitions.get(0).values()) {
+            failures[child] = 0;
+            outputs[child] = toArray(ownOutputs.get(child));
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (Map.Entry<Character, Integer> entry : transitions.get(state).entrySet()) {
+                int child = entry.getValue();
+                failures[child] = next(failures[state], entry.getKey());
+
+                int[] own = toArray(ownOutputs.get(child));
+                int[] inherited = outputs[failures[child]];
+                int[] merged = Arrays.copyOf(own, own.length + inherited.length);
+                System.arraycopy(inherited, 0, merged, own.length, inherited.length);
+                outputs[child] = merged;
+
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * 키워드가 나올 때마다 키워드 번호와 시작 위치를 전달
+     */
+    public void scan(CharSequence text, MatchListener listener) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = next(state, text.charAt(i));
+            for (int id : outputs[state]) {
+                listener.onMatch(id, i - lengths[id] + 1);
+            }
+        }
+    }
+
+    private int next(int state, char c) {
+        while (true) {
+            Integer next = transitions.get(state).get(c);
+            if (next != null)  return next;
+            if (state == 0)  return 0;
+            state = failures[state];
+        }
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        return values.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @FunctionalInterface
+    public interface MatchListener {
+        void onMatch(int keywordId, int start);
+    }
+}
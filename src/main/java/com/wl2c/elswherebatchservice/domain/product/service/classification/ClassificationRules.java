@@ -0,0 +1,67 @@
+package com.wl2c.elswherebatchservice.domain.product.service.classification;
+
+import java.util.List;
+
+/**
+ * 상품유형 문자열 판별 규칙 (JSON 설정)
+ *
+ * 규칙은 위에서부터 순서대로 적용하여 처음 맞는 규칙의 결과를 사용함
+ *
+ * @param knockIn 낙인 배리어 규칙
+ * @param productTypes 발행사별 상품 유형 규칙 (issuers 가 비어 있는 항목은 그 외 발행사)
+ * @param defaultProductType 맞는 규칙이 없을 때의 상품 유형
+ */
+public record ClassificationRules(List<Rule> knockIn, List<IssuerRules> productTypes, String defaultProductType) {
+
+    /**
+     * @param keywords 하나라도 포함되어 있으면 적용
+     * @param wordStart true 라면 키워드 앞이 문자가 아닐 때만 포함된 것으로 봄
+     * @param patterns 하나라도 찾아지면 적용
+     * @param groups 낙인 배리어로 사용할 그룹 번호 (값이 있는 첫 번째 그룹)
+     * @param excludeWhenAll 정규식이 찾아졌더라도 이 키워드가 모두 포함되어 있으면 적용하지 않음
+     * @param result 상품 유형, 낙인 배리어 규칙이라면 NONE(노낙인) 또는 배리어 값
+     */
+    public record Rule(String id,
+                       List<String> keywords,
+                       boolean wordStart,
+                       List<String> patterns,
+                       List<Integer> groups,
+                       List<String> excludeWhenAll,
+                       String result) {
+
+        public List<String> keywords() {
+            return keywords == null ? List.of() : keywords;
+        }
+
+        public List<String> patterns() {
+            return patterns == null ? List.of() : patterns;
+        }
+
+        public List<Integer> groups() {
+            return groups == null || groups.isEmpty() ? List.of(1) : groups;
+        }
+
+        public List<String> excludeWhenAll() {
+            return excludeWhenAll == null ? List.of() : excludeWhenAll;
+        }
+    }
+
+    public record IssuerRules(List<String> issuers, List<Rule> rules) {
+
+        public List<String> issuers() {
+            return issuers == null ? List.of() : issuers;
+        }
+
+        public List<Rule> rules() {
+            return rules == null ? List.of() : rules;
+        }
+    }
+
+    public List<Rule> knockIn() {
+        return knockIn == null ? List.of() : knockIn;
+    }
+
+    public List<IssuerRules> productTypes() {
+        return productTypes == null ? List.of() : productTypes;
+    }
+}
@@ -0,0 +1,207 @@
+package com.wl2c.elswherebatchservice.domain.product.service.classification;
+
+import com.wl2c.elswherebatchservice.domain.product.model.ProductType;
+import com.wl2c.elswherebatchservice.global.util.RegexTimeLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 컴파일된 판별 규칙
+ *
+ * 모든 규칙의 키워드는 하나의 오토마톤으로 묶어서 문자열을 한 번만 훑고, 정규식은 미리 컴파일해 둠.
+ * 생성 후에는 변경하지 않으므로 규칙을 다시 읽을 때는 새로 만들어서 교체함
+ */
+final class CompiledClassificationRules {
+
+    private static final String NO_KNOCK_IN = "NONE";
+
+    private final AhoCorasick automaton;
+    private final List<CompiledRule> knockInRules;
+    private final Map<String, List<CompiledRule>> productTypeRulesByIssuer;
+    private final List<CompiledRule> defaultProductTypeRules;
+    private final ProductType defaultProductType;
+
+    private CompiledClassificationRules(AhoCorasick automaton,
+                                        List<CompiledRule> knockInRules,
+                                        Map<String, List<CompiledRule>> productTypeRulesByIssuer,
+                                        List<CompiledRule> defaultProductTypeRules,
+                                        ProductType defaultProductType) {
+        this.automaton = automaton;
+        this.knockInRules = knockInRules;
+        this.productTypeRulesByIssuer = productTypeRulesByIssuer;
+        this.defaultProductTypeRules = defaultProductTypeRules;
+        this.defaultProductType = defaultProductType;
+    }
+
+    /**
+     * @throws IllegalArgumentException 정규식이나 결과 값이 잘못된 규칙이 있는 경우
+     */
+    static CompiledClassificationRules compile(ClassificationRules rules, MeterRegistry meterRegistry) {
+        Map<String, Integer> keywordIds = new LinkedHashMap<>();
+
+        List<CompiledRule> knockInRules = new ArrayList<>();
+        for (ClassificationRules.Rule rule : rules.knockIn()) {
+            if (rule.result() != null && !rule.result().equals(NO_KNOCK_IN))  Integer.parseInt(rule.result());
+            knockInRules.add(CompiledRule.of(rule, keywordIds, meterRegistry));
+        }
+
+        Map<String, List<CompiledRule>> productTypeRulesByIssuer = new HashMap<>();
+        List<CompiledRule> defaultProductTypeRules = List.of();
+        for (ClassificationRules.IssuerRules issuerRules : rules.productTypes()) {
+            List<CompiledRule> compiled = new ArrayList<>();
+            for (ClassificationRules.Rule rule : issuerRules.rules()) {
+                ProductType.valueOf(rule.result());
+                compiled.add(CompiledRule.of(rule, keywordIds, meterRegistry));
+            }
+
+            if (issuerRules.issuers().isEmpty()) {
+                defaultProductTypeRules = compiled;
+            } else {
+                issuerRules.issuers().forEach(issuer -> productTypeRulesByIssuer.put(issuer, compiled));
+            }
+        }
+
+        return new CompiledClassificationRules(
+                new AhoCorasick(new ArrayList<>(keywordIds.keySet())),
+                knockInRules,
+                productTypeRulesByIssuer,
+                defaultProductTypeRules,
+                rules.defaultProductType() == null ? ProductType.ETC : ProductType.valueOf(rules.defaultProductType()));
+    }
+
+    /**
+     * 모든 규칙의 키워드를 한 번에 찾음
+     */
+    KeywordHits scan(String text) {
+        KeywordHits hits = new KeywordHits();
+        automaton.scan(text, (keywordId, start) -> {
+            hits.found.set(keywordId);
+            if (start == 0 || !Character.isLetter(text.charAt(start - 1))) {
+                hits.foundAtWordStart.set(keywordId);
+            }
+        });
+        return hits;
+    }
+
+    /**
+     * @return 낙인 배리어 (노낙인 또는 파악되지 않으면 null)
+     */
+    Integer findKnockIn(KeywordHits hits, String text) {
+        for (CompiledRule rule : knockInRules) {
+            if (rule.matchesKeywords(hits)) {
+                rule.counter.increment();
+                return NO_KNOCK_IN.equals(rule.result) || rule.result == null ? null : Integer.valueOf(rule.result);
+            }
+
+            for (Pattern pattern : rule.patterns) {
+                Matcher matcher = RegexTimeLimiter.matcher(pattern, text);
+                if (!matcher.find() || rule.isExcluded(hits))  continue;
+
+                for (int group : rule.groups) {
+                    if (group <= matcher.groupCount() && matcher.group(group) != null) {
+                        rule.counter.increment();
+                        return Integer.parseInt(matcher.group(group));
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    ProductType findProductType(String issuer, KeywordHits hits, String text) {
+        List<CompiledRule> rules = issuer == null ? null : productTypeRulesByIssuer.get(issuer);
+        for (CompiledRule rule : rules != null ? rules : defaultProductTypeRules) {
+            if (rule.matchesKeywords(hits) || rule.findsPattern(hits, text)) {
+                rule.counter.increment();
+                return ProductType.valueOf(rule.result);
+            }
+        }
+        return defaultProductType;
+    }
+
+    ProductType defaultProductType() {
+        return defaultProductType;
+    }
+
+    /**
+     * 문자열에서 찾은 키워드 번호
+     */
+    static final class KeywordHits {
+
+        private final BitSet found = new BitSet();
+        private final BitSet foundAtWordStart = new BitSet();
+    }
+
+    private static final class CompiledRule {
+
+        private final int[] keywordIds;
+        private final boolean wordStart;
+        private final List<Pattern> patterns;
+        private final List<Integer> groups;
+        private final int[] excludeWhenAllIds;
+        private final String result;
+        private final Counter counter;
+
+        private CompiledRule(int[] keywordIds, boolean wordStart, List<Pattern> patterns, List<Integer> groups,
+                             int[] excludeWhenAllIds, String result, Counter counter) {
+            this.keywordIds = keywordIds;
+            this.wordStart = wordStart;
+            this.patterns = patterns;
+            this.groups = groups;
+            this.excludeWhenAllIds = excludeWhenAllIds;
+            this.result = result;
+            this.counter = counter;
+        }
+
+        static CompiledRule of(ClassificationRules.Rule rule, Map<String, Integer> keywordIds, MeterRegistry meterRegistry) {
+            if (rule.id() == null)  throw new IllegalArgumentException("Rule without id");
+
+            return new CompiledRule(
+                    idsOf(rule.keywords(), keywordIds),
+                    rule.wordStart(),
+                    rule.patterns().stream().map(Pattern::compile).toList(),
+                    rule.groups(),
+                    idsOf(rule.excludeWhenAll(), keywordIds),
+                    rule.result(),
+                    meterRegistry.counter("batch.classification.rules", "rule", rule.id()));
+        }
+
+        boolean matchesKeywords(KeywordHits hits) {
+            BitSet found = wordStart ? hits.foundAtWordStart : hits.found;
+            for (int keywordId : keywordIds) {
+                if (found.get(keywordId))  return true;
+            }
+            return false;
+        }
+
+        boolean findsPattern(KeywordHits hits, String text) {
+            for (Pattern pattern : patterns) {
+                if (RegexTimeLimiter.matcher(pattern, text).find())  return !isExcluded(hits);
+            }
+            return false;
+        }
+
+        boolean isExcluded(KeywordHits hits) {
+            if (excludeWhenAllIds.length == 0)  return false;
+            for (int keywordId : excludeWhenAllIds) {
+                if (!hits.found.get(keywordId))  return false;
+            }
+            return true;
+        }
+
+        private static int[] idsOf(List<String> keywords, Map<String, Integer> keywordIds) {
+            return keywords.stream()
+                    .mapToInt(keyword -> keywordIds.computeIfAbsent(keyword, key -> keywordIds.size()))
+                    .toArray();
+        }
+    }
+}
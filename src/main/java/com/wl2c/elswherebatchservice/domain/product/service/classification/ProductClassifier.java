@@ -0,0 +1,113 @@
+package com.wl2c.elswherebatchservice.domain.product.service.classification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wl2c.elswherebatchservice.domain.product.model.ProductType;
+import com.wl2c.elswherebatchservice.global.util.RegexTimeLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 상품유형 문자열에서 낙인 배리어와 상품 유형을 판별
+ *
+ * 규칙은 JSON 파일(file.classification.rules-path)에서 읽으며, 파일이 없으면 기본 규칙(classification-rules.json)을 사용함.
+ * 파일이 수정되면 재시작 없이 다시 컴파일하여 교체하고, 잘못된 규칙이라면 기존 규칙을 유지함
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductClassifier {
+
+    private static final String DEFAULT_RULES = "classification-rules.json";
+
+    @Value("${file.classification.rules-path:}")
+    private String rulesPath;
+
+    @Value("${batch.classification.reload-interval:30s}")
+    private Duration reloadInterval;
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicReference<CompiledClassificationRules> rules = new AtomicReference<>();
+    private long loadedLastModified = -1;
+    private volatile long nextReloadCheckAt;
+
+    @PostConstruct
+    public void init() throws IOException {
+        if (!reloadIfModified()) {
+            try (InputStream inputStream = new ClassPathResource(DEFAULT_RULES).getInputStream()) {
+                rules.set(compile(objectMapper.readValue(inputStream, ClassificationRules.class)));
+            }
+            log.info("기본 상품 판별 규칙 로드");
+        }
+    }
+
+    /**
+     * 키워드는 한 번만 훑어서 낙인 배리어와 상품 유형 판별에 함께 사용
+     */
+    public Result classify(String issuer, String productFullInfo) {
+        CompiledClassificationRules current = currentRules();
+        CompiledClassificationRules.KeywordHits hits = current.scan(productFullInfo);
+
+        // 자유 형식 텍스트이므로 매칭이 제한 시간을 넘기면 분류하지 않음
+        return new Result(
+                RegexTimeLimiter.orElse("knockIn", () -> current.findKnockIn(hits, productFullInfo), null),
+                RegexTimeLimiter.orElse("productType", () -> current.findProductType(issuer, hits, productFullInfo), current.defaultProductType()));
+    }
+
+    /**
+     * 규칙 파일이 수정되었다면 다시 읽어서 교체
+     *
+     * @return 규칙 파일을 읽어서 사용 중이라면 true
+     */
+    public synchronized boolean reloadIfModified() {
+        nextReloadCheckAt = System.nanoTime() + reloadInterval.toNanos();
+        if (rulesPath.isBlank())  return false;
+
+        File file = new File(rulesPath);
+        if (!file.exists())  return false;
+
+        long lastModified = file.lastModified();
+        if (lastModified == loadedLastModified)  return true;
+
+        try {
+            rules.set(compile(objectMapper.readValue(file, ClassificationRules.class)));
+            loadedLastModified = lastModified;
+            meterRegistry.counter("batch.classification.reloads", "result", "success").increment();
+            log.info("상품 판별 규칙 로드 : " + rulesPath);
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            // 파일이 다시 수정될 때까지는 같은 파일을 다시 읽지 않음
+            loadedLastModified = lastModified;
+            meterRegistry.counter("batch.classification.reloads", "result", "failure").increment();
+            log.error("Error loading classification rules, keeping previous rules: ", e);
+            return rules.get() != null;
+        }
+    }
+
+    private CompiledClassificationRules currentRules() {
+        if (System.nanoTime() - nextReloadCheckAt >= 0)  reloadIfModified();
+        return rules.get();
+    }
+
+    private CompiledClassificationRules compile(ClassificationRules classificationRules) {
+        return CompiledClassificationRules.compile(classificationRules, meterRegistry);
+    }
+
+    /**
+     * @param knockIn 낙인 배리어 (노낙인 또는 파악되지 않으면 null)
+     */
+    public record Result(Integer knockIn, ProductType productType) {
+    }
+}
@@ -0,0 +1,69 @@
+package com.wl2c.elswherebatchservice.domain.product.service.excel;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 스트리밍 방식으로 읽어들인 엑셀 한 행
+ *
+ * 셀 값은 열 번호(0부터 시작)를 key 로 하여 문자열로 보관하며,
+ * 숫자 셀은 서식이 적용되지 않은 원본 값을 문자열로 보관함
+ */
+@Getter
+@ToString
+public class ExcelRow {
+
+    // 0부터 시작하는 행 번호
+    private final int rowNum;
+
+    private final Map<Integer, String> cells;
+
+    public ExcelRow(int rowNum, Map<Integer, String> cells) {
+        this.rowNum = rowNum;
+        this.cells = Collections.unmodifiableMap(cells);
+    }
+
+    // 비어 있는 셀은 빈 문자열로 취급 (Cell.getStringCellValue 와 동일)
+    public String getString(int column) {
+        return cells.getOrDefault(column, "");
+    }
+
+    public BigDecimal getNumeric(int column) {
+        String value = cells.get(column);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return new BigDecimal(value.strip());
+    }
+
+    /**
+     * 셀 내용 전체에 대한 SHA-256 해시 (행 번호는 포함하지 않음)
+     */
+    public String contentHash() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            new TreeMap<>(cells).forEach((column, value) -> {
+                digest.update(String.valueOf(column).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0x1F);
+                digest.update(value.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0x1E);
+            });
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public boolean isEmpty() {
+        return cells.values().stream().allMatch(String::isBlank);
+    }
+}
@@ -0,0 +1,13 @@
+package com.wl2c.elswherebatchservice.domain.product.service.excel;
+
+import java.io.IOException;
+
+@FunctionalInterface
+public interface ExcelRowHandler {
+
+    /**
+     * 시트에서 한 행을 읽을 때마다 호출됨
+     */
+    void handle(ExcelRow row) throws IOException;
+
+}
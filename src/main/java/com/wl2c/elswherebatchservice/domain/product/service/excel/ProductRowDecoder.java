@@ -0,0 +1,166 @@
+package com.wl2c.elswherebatchservice.domain.product.service.excel;
+
+import com.wl2c.elswherebatchservice.domain.product.model.dto.ProductClassification;
+import com.wl2c.elswherebatchservice.domain.product.model.dto.ProductRow;
+import com.wl2c.elswherebatchservice.domain.product.service.alias.IssuerDictionary;
+import com.wl2c.elswherebatchservice.domain.product.service.classification.ProductClassifier;
+import com.wl2c.elswherebatchservice.global.util.RegexTimeLimiter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 엑셀 한 행을 {@link ProductRow} 로 변환하고, 상품명과 상품유형 문자열을 한 번만 판별하여 함께 담음
+ *
+ * 판별에 쓰이는 정규식과 날짜 포맷은 모두 미리 컴파일해 두고 재사용. 낙인 배리어와 상품 유형은 {@link ProductClassifier} 의 규칙으로 판별
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductRowDecoder {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    /**
+     * 회차 정규식 패턴
+     *
+     * 숫자 앞에 공백 문자, "제", "회", "호" 또는 문자열의 시작이 있어야 하고,
+     * 숫자 뒤에 공백 문자, "제", "회", "호" 또는 문자열의 끝이 있어야 함
+     */
+    private static final Pattern SESSION_PATTERN = Pattern.compile("(?<=\\s|제|회|호|^)\\d+(?=\\s|제|회|호|$)");
+
+    private static final Pattern ISSUE_NUMBER_PATTERN = Pattern.compile("\\s*제?\\s*(\\d+)\\s*[호회]?");
+
+    // (?:\.\d+)?는 소수점 반영을 위한 패턴
+    private static final Pattern PRODUCT_INFO_PATTERN1 = Pattern.compile("\\b\\d{2,3}(?:\\.\\d+)?(?:.*?-\\d{2,3}(?:\\.\\d+)?)+\\b"); // 90-90-85-85-80-75 or 90-90(40m)-85-85-80-75 or 90(~60)-90-85-85-80-75와 같은 패턴
+    private static final Pattern PRODUCT_INFO_PATTERN2 = Pattern.compile("\\b\\d{2,3}(?:\\.\\d+)?(?:.*?/\\d{2,3}(?:\\.\\d+)?)+\\b"); // 90(L85)/90(L80)/85/80/75/70 패턴
+    private static final Pattern PRODUCT_INFO_PATTERN3 = Pattern.compile("\\b\\d{1,3}(?:\\.\\d+)?(?:,\\d{1,3}(?:\\.\\d+)?)+\\b"); // 92.5,90,90,85,80,75 or 85,85,80,80,75,75 패턴
+    private static final Pattern KOREAN_PATTERN = Pattern.compile(".*[ㄱ-ㅎㅏ-ㅣ가-힣]+.*");
+    private static final Pattern BARRIER_PATTERN = Pattern.compile("\\b\\d+(?:-\\d+)+\\b");
+
+    private final ProductClassifier productClassifier;
+    private final IssuerDictionary issuerDictionary;
+
+    public ProductRow decode(ExcelRow row) {
+        String issuer = row.getString(1);
+        String name = row.getString(3);
+        String productFullInfo = row.getString(11);
+
+        return ProductRow.builder()
+                .rowNum(row.getRowNum())
+                .issuer(issuer)
+                .creditRating(row.getString(2))
+                .name(name)
+                .equities(Arrays.asList(row.getString(4).split("<br/>")))
+                .issuedDate(convertToLocalDate(row.getString(5)))
+                .maturityDate(convertToLocalDate(row.getString(6)))
+                .yieldIfConditionsMet(row.getNumeric(7))
+                .maximumLossRate(row.getNumeric(8))
+                .subscriptionStartDate(convertToLocalDate(row.getString(9)))
+                .subscriptionEndDate(convertToLocalDate(row.getString(10)))
+                .productFullInfo(productFullInfo)
+                .link(row.getString(13))
+                .remarks(row.getString(15))
+                .classification(classify(issuer, name, productFullInfo))
+                .fingerprint(row.contentHash())
+                .build();
+    }
+
+    public ProductClassification classify(String issuer, String name, String productFullInfo) {
+        ProductClassifier.Result result = productClassifier.classify(issuer, productFullInfo);
+        return ProductClassification.builder()
+                .knockIn(result.knockIn())
+                .productType(result.productType())
+                // 자유 형식 텍스트이므로 매칭이 제한 시간을 넘기면 분류하지 않음
+                .productInfo(RegexTimeLimiter.orElse("productInfo", () -> findProductInfo(productFullInfo), null))
+                .productSession(findProductSession(name))
+                .issueNumber(findIssueNumber(name))
+                .nameIssuer(issuerDictionary.findIssuer(name))
+                .build();
+    }
+
+    public String findProductSession(String name) {
+
+        String number = null;
+
+        // 패턴에 매칭되는 회차(숫자)를 찾기
+        Matcher matcher = SESSION_PATTERN.matcher(name);
+        while (matcher.find()) {
+            number = matcher.group();
+        }
+        return number;
+    }
+
+    private String findProductInfo(String str) {
+
+        Matcher matcher1 = RegexTimeLimiter.matcher(PRODUCT_INFO_PATTERN1, str);
+        Matcher matcher2 = RegexTimeLimiter.matcher(PRODUCT_INFO_PATTERN2, str);
+        Matcher matcher3 = RegexTimeLimiter.matcher(PRODUCT_INFO_PATTERN3, str);
+
+        if (matcher1.find()) {
+            String matched = matcher1.group();
+
+            int lastBrIndex = matched.lastIndexOf("<br/>");
+
+            if (lastBrIndex != -1) {
+                return matched.substring(lastBrIndex + 5);
+            } else {
+
+                int lastSlashIndex = matched.lastIndexOf("/");
+
+                if (lastSlashIndex != -1) {
+                    return matched.substring(lastSlashIndex + 1);
+                } else {
+
+                    if (RegexTimeLimiter.matcher(KOREAN_PATTERN, matched).matches()) {
+                        Matcher matcher = RegexTimeLimiter.matcher(BARRIER_PATTERN, matched);
+
+                        if (matcher.find()) {
+                            return matcher.group();
+                        }
+
+                    } else {
+                        return matched;
+                    }
+                }
+            }
+        } else if (matcher2.find()) {
+
+            // "/"를 "-"로 변환
+            String matched = matcher2.group();
+            return matched.replace("/", "-");
+
+        } else if (matcher3.find()) {
+
+            // ","를 "-"로 변환
+            String matched = matcher3.group();
+            return matched.replace(",", "-");
+
+        }
+
+        return null;
+    }
+
+    private Integer findIssueNumber(String name) {
+        // 문자열에서 숫자를 추출
+        Matcher matcher = ISSUE_NUMBER_PATTERN.matcher(name);
+        if (matcher.find()) {
+            return Integer.valueOf(matcher.group(1));
+        } else {
+            log.error("No issue number found in: " + name);
+        }
+
+        return null;
+    }
+
+    // 형식이 맞지 않으면 예외를 던져서 해석 단계에서 실패한 행으로 기록되도록 함
+    private LocalDate convertToLocalDate(String dateString) {
+        return LocalDate.parse(dateString, DATE_FORMATTER);
+    }
+}
@@ -0,0 +1,252 @@
+package com.wl2c.elswherebatchservice.domain.product.service.excel;
+
+import org.apache.poi.hssf.eventusermodel.AbortableHSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFEventFactory;
+import org.apache.poi.hssf.eventusermodel.HSSFRequest;
+import org.apache.poi.hssf.eventusermodel.HSSFUserException;
+import org.apache.poi.hssf.record.*;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.ss.util.NumberToTextConverter;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.springframework.stereotype.Component;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 엑셀 파일의 첫 번째 시트를 이벤트(스트리밍) 방식으로 읽는 리더
+ *
+ * 워크북 전체를 메모리에 올리지 않고, 시트에서 행을 읽는 즉시 {@link ExcelRowHandler} 로 전달하므로
+ * 파일 크기와 관계없이 메모리 사용량이 일정하게 유지됨
+ *
+ * 엑셀 97 ~ 2003 까지는 HSSF 이벤트 API(xls), 엑셀 2007 이상은 XSSFReader + SAX(xlsx)
+ */
+@Component
+public class StreamingExcelReader {
+
+    public void read(File file, ExcelRowHandler handler) throws IOException {
+        String fileName = file.getName();
+
+        try {
+            if (fileName.endsWith(".xls")) {
+                readXls(file, handler);
+            } else if (fileName.endsWith(".xlsx")) {
+                readXlsx(file, handler);
+            } else {
+                // 읽은 것으로 처리되지 않도록 예외를 던짐
+                throw new IOException("Unsupported Excel file format: " + fileName);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void readXlsx(File file, ExcelRowHandler handler) throws IOException {
+        try (OPCPackage opcPackage = OPCPackage.open(file, PackageAccess.READ)) {
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(opcPackage);
+            XSSFReader xssfReader = new XSSFReader(opcPackage);
+            StylesTable styles = xssfReader.getStylesTable();
+
+            // 첫 번째 시트만 읽음
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) xssfReader.getSheetsData();
+            if (!sheets.hasNext()) {
+                return;
+            }
+
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(
+                        styles, strings, new XlsxSheetHandler(handler), new RawValueDataFormatter(), false));
+                parser.parse(new InputSource(sheet));
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("Error reading xlsx file: " + file.getName(), e);
+        }
+    }
+
+    private void readXls(File file, ExcelRowHandler handler) throws IOException {
+        try (POIFSFileSystem fileSystem = new POIFSFileSystem(file, true)) {
+            HSSFRequest request = new HSSFRequest();
+            request.addListenerForAllRecords(new XlsFirstSheetListener(handler));
+
+            new HSSFEventFactory().abortableProcessWorkbookEvents(request, fileSystem);
+        } catch (HSSFUserException e) {
+            throw new IOException("Error reading xls file: " + file.getName(), e);
+        }
+    }
+
+    private static void emit(ExcelRowHandler handler, int rowNum, Map<Integer, String> cells) {
+        try {
+            handler.handle(new ExcelRow(rowNum, cells));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 숫자 셀에 셀 서식(소수 자릿수, % 등)을 적용하지 않고 원본 값을 그대로 반환
+     */
+    private static class RawValueDataFormatter extends DataFormatter {
+
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString) {
+            return NumberToTextConverter.toText(value);
+        }
+
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString, boolean use1904Windowing) {
+            return NumberToTextConverter.toText(value);
+        }
+    }
+
+    private static class XlsxSheetHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final ExcelRowHandler handler;
+
+        private Map<Integer, String> cells = new HashMap<>();
+        private int currentColumn = -1;
+
+        XlsxSheetHandler(ExcelRowHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            cells = new HashMap<>();
+            currentColumn = -1;
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            emit(handler, rowNum, cells);
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            // 셀 주소가 생략된 경우 바로 다음 열로 간주
+            currentColumn = cellReference == null ? currentColumn + 1 : new CellReference(cellReference).getCol();
+            cells.put(currentColumn, formattedValue);
+        }
+    }
+
+    private static class XlsFirstSheetListener extends AbortableHSSFListener {
+
+        private final ExcelRowHandler handler;
+
+        private SSTRecord sstRecord;
+        private int sheetIndex = -1;
+
+        // 시트 안에 포함된 차트/그림 등은 BOF ~ EOF 로 감싼 하위 스트림이므로 중첩 깊이를 따라감
+        private int depth = 0;
+        private boolean inFirstSheet = false;
+
+        private int currentRow = -1;
+        private Map<Integer, String> cells = new HashMap<>();
+
+        // 문자열 결과를 가진 수식 셀은 바로 뒤의 StringRecord 에 값이 있음
+        private int formulaRow = -1;
+        private int formulaColumn = -1;
+
+        XlsFirstSheetListener(ExcelRowHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public short abortableProcessRecord(org.apache.poi.hssf.record.Record record) {
+            switch (record.getSid()) {
+                case BOFRecord.sid -> {
+                    depth++;
+                    if (depth == 1 && ((BOFRecord) record).getType() == BOFRecord.TYPE_WORKSHEET) {
+                        sheetIndex++;
+                        inFirstSheet = sheetIndex == 0;
+                    }
+                }
+                case SSTRecord.sid -> sstRecord = (SSTRecord) record;
+                case EOFRecord.sid -> {
+                    depth--;
+                    if (depth == 0 && inFirstSheet) {
+                        flushRow();
+                        // 첫 번째 시트를 모두 읽었으므로 나머지 시트는 읽지 않음
+                        return 1;
+                    }
+                }
+                default -> {
+                    if (inFirstSheet && depth == 1) {
+                        processCellRecord(record);
+                    }
+                }
+            }
+            return 0;
+        }
+
+        private void processCellRecord(org.apache.poi.hssf.record.Record record) {
+            switch (record.getSid()) {
+                case LabelSSTRecord.sid -> {
+                    LabelSSTRecord label = (LabelSSTRecord) record;
+                    putCell(label.getRow(), label.getColumn(), sstRecord.getString(label.getSSTIndex()).getString());
+                }
+                case LabelRecord.sid -> {
+                    LabelRecord label = (LabelRecord) record;
+                    putCell(label.getRow(), label.getColumn(), label.getValue());
+                }
+                case NumberRecord.sid -> {
+                    NumberRecord number = (NumberRecord) record;
+                    putCell(number.getRow(), number.getColumn(), NumberToTextConverter.toText(number.getValue()));
+                }
+                case FormulaRecord.sid -> {
+                    FormulaRecord formula = (FormulaRecord) record;
+                    if (formula.hasCachedResultString()) {
+                        formulaRow = formula.getRow();
+                        formulaColumn = formula.getColumn();
+                    } else {
+                        putCell(formula.getRow(), formula.getColumn(), NumberToTextConverter.toText(formula.getValue()));
+                    }
+                }
+                case StringRecord.sid -> {
+                    if (formulaRow != -1) {
+                        putCell(formulaRow, formulaColumn, ((StringRecord) record).getString());
+                        formulaRow = -1;
+                        formulaColumn = -1;
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+
+        private void putCell(int row, int column, String value) {
+            // 셀 레코드는 행 순서대로 들어오므로, 행 번호가 바뀌면 이전 행을 전달
+            if (row != currentRow) {
+                flushRow();
+                currentRow = row;
+            }
+            cells.put(column, value);
+        }
+
+        private void flushRow() {
+            if (currentRow != -1) {
+                emit(handler, currentRow, cells);
+            }
+            currentRow = -1;
+            cells = new HashMap<>();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.wl2c.elswherebatchservice.domain.product.service.prospectus;
+
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 호스트 하나에 대한 동시 요청 수 제한 (AIMD)
+ *
+ * 응답이 목표 지연 시간 안에 오면 제한을 조금씩 늘리고(가산 증가), 오류나 느린 응답이 오면 절반으로 줄임(승산 감소)
+ * 가상 스레드에서 기다리므로 synchronized 대신 ReentrantLock 을 사용함 (기다리는 동안 캐리어 스레드를 점유하지 않도록)
+ */
+class AdaptiveConcurrencyLimiter {
+
+    private static final double BACKOFF_RATIO = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final Duration targetLatency;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+
+    private double limit;
+    private int inFlight;
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, Duration targetLatency) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatency = targetLatency;
+        this.limit = initialLimit;
+    }
+
+    void acquire() throws InterruptedIOException {
+        try {
+            lock.lockInterruptibly();
+            try {
+                while (inFlight >= (int) limit) {
+                    available.await();
+                }
+                inFlight++;
+            } finally {
+                lock.unlock();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a fetch permit");
+        }
+    }
+
+    void release(boolean error, Duration latency) {
+        lock.lock();
+        try {
+            inFlight--;
+            if (error || latency.compareTo(targetLatency) > 0) {
+                limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+            } else {
+                // 제한만큼의 요청이 모두 성공하면 1 증가
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+            // 제한이 늘어나면 여러 요청이 한꺼번에 들어갈 수 있음
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 요청을 보내지 않고 허가를 돌려줌 (제한은 바꾸지 않음)
+     */
+    void cancel() {
+        lock.lock();
+        try {
+            inFlight--;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.wl2c.elswherebatchservice.domain.product.service.prospectus;
+
+import java.io.IOException;
+
+/**
+ * 호스트의 서킷이 열려 있어 요청을 보내지 않음 (해당 행은 실패 행으로 기록되어 나중에 재시도)
+ */
+public class CircuitOpenException extends IOException {
+
+    public CircuitOpenException(String host) {
+        super("Circuit is open for host : " + host);
+    }
+}
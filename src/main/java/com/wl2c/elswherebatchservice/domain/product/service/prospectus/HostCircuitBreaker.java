@@ -0,0 +1,129 @@
+package com.wl2c.elswherebatchservice.domain.product.service.prospectus;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 호스트 하나의 서킷 브레이커
+ *
+ * 최근 N 개 요청 중 실패(오류 또는 느린 응답) 비율이 임계치를 넘으면 열리고, 일정 시간이 지나면 한 요청만 시험 삼아 보냄.
+ * 시험 요청이 성공하면 닫히고, 실패하면 다시 열림
+ */
+class HostCircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final Duration slowCallThreshold;
+    private final Duration openDuration;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // 최근 요청 결과 (원형 버퍼)
+    private final boolean[] failures;
+    private int calls;
+    private int failureCount;
+    private int next;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    HostCircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, Duration slowCallThreshold, Duration openDuration) {
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallThreshold = slowCallThreshold;
+        this.openDuration = openDuration;
+        this.failures = new boolean[windowSize];
+    }
+
+    /**
+     * 상태를 바꾸지 않고 지금 요청을 보낼 수 있는지만 확인
+     */
+    boolean isCallPermitted() {
+        lock.lock();
+        try {
+            return switch (state) {
+                case CLOSED -> true;
+                case OPEN -> System.nanoTime() - openedAt >= openDuration.toNanos();
+                case HALF_OPEN -> !trialInFlight;
+            };
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return 요청을 보내도 된다면 true (반쯤 열린 상태라면 시험 요청 자리를 차지하므로 반드시 결과를 기록해야 함)
+     */
+    boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (state == State.OPEN) {
+                if (System.nanoTime() - openedAt < openDuration.toNanos())  return false;
+                state = State.HALF_OPEN;
+                trialInFlight = false;
+            }
+            if (state == State.HALF_OPEN) {
+                if (trialInFlight)  return false;
+                trialInFlight = true;
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void record(boolean error, Duration latency) {
+        boolean failure = error || latency.compareTo(slowCallThreshold) > 0;
+
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN) {
+                trialInFlight = false;
+                if (failure) {
+                    open();
+                } else {
+                    reset();
+                }
+                return;
+            }
+
+            if (calls == windowSize && failures[next])  failureCount--;
+            failures[next] = failure;
+            if (failure)  failureCount++;
+            next = (next + 1) % windowSize;
+            calls = Math.min(calls + 1, windowSize);
+
+            if (state == State.CLOSED && calls >= minimumCalls && (double) failureCount / calls >= failureRateThreshold) {
+                open();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    State getState() {
+        lock.lock();
+        try {
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+    }
+
+    private void reset() {
+        state = State.CLOSED;
+        calls = 0;
+        failureCount = 0;
+        next = 0;
+    }
+}
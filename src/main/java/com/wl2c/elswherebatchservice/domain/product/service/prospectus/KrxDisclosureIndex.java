@@ -0,0 +1,55 @@
+package com.wl2c.elswherebatchservice.domain.product.service.prospectus;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * KRX 공시 파일(종목명 -> 투자설명서 링크)을 메모리에 올린 인덱스
+ *
+ * 행마다 JSON 파일을 다시 읽고 항목마다 정규식을 새로 만들던 것을, 파일당 한 번만 읽고 조회 결과를 재사용하도록 함
+ */
+public class KrxDisclosureIndex {
+
+    private final List<Disclosure> disclosures;
+
+    // (회차, 발행회사) -> 투자설명서 링크
+    private final Map<String, Optional<String>> links = new HashMap<>();
+
+    private KrxDisclosureIndex(List<Disclosure> disclosures) {
+        this.disclosures = disclosures;
+    }
+
+    public static KrxDisclosureIndex of(JsonNode jsonArray) {
+        List<Disclosure> disclosures = new ArrayList<>();
+        for (JsonNode jsonNode : jsonArray) {
+            disclosures.add(new Disclosure(jsonNode.get("ISU_NM").asText(), jsonNode.get("ISU_DISCLS_URL").asText()));
+        }
+        return new KrxDisclosureIndex(disclosures);
+    }
+
+    /**
+     * 종목명에 발행회사가 포함되어 있고 회차가 단어 단위로 존재하는 첫 번째 항목의 링크
+     */
+    public synchronized String findProspectusLink(String session, String issuer) {
+        return links.computeIfAbsent(session + "\u0000" + issuer, key -> {
+            Pattern sessionPattern = Pattern.compile("\\b" + Pattern.quote(session) + "\\b");
+            return disclosures.stream()
+                    .filter(disclosure -> disclosure.name().contains(issuer) && sessionPattern.matcher(disclosure.name()).find())
+                    .map(Disclosure::url)
+                    .findFirst();
+        }).orElse(null);
+    }
+
+    public int size() {
+        return disclosures.size();
+    }
+
+    private record Disclosure(String name, String url) {
+    }
+}
@@ -0,0 +1,51 @@
+package com.wl2c.elswherebatchservice.domain.product.service.prospectus;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * KRX 공시 파일 인덱스
+ *
+ * 파일이 새로 내려받아져 수정 시각이 바뀐 경우에만 다시 읽음
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class KrxDisclosureService {
+
+    @Value("${file.krx.path}")
+    private String krxPath;
+
+    private final ObjectMapper objectMapper;
+
+    private KrxDisclosureIndex index;
+    private long loadedLastModified = -1;
+
+    public String findProspectusLink(String session, String issuer) {
+        if (session == null || issuer == null)  return null;
+
+        try {
+            return getIndex().findProspectusLink(session, issuer);
+        } catch (IOException e) {
+            log.error("Error processing json file: ", e);
+            return null;
+        }
+    }
+
+    private synchronized KrxDisclosureIndex getIndex() throws IOException {
+        File file = new File(krxPath);
+        long lastModified = file.lastModified();
+        if (index == null || lastModified != loadedLastModified) {
+            index = KrxDisclosureIndex.of(objectMapper.readTree(file));
+            loadedLastModified = lastModified;
+            log.info("KRX 공시 항목 " + index.size() + " 개 로드");
+        }
+        return index;
+    }
+}
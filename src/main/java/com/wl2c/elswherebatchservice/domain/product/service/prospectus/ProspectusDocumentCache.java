@@ -0,0 +1,86 @@
+package com.wl2c.elswherebatchservice.domain.product.service.prospectus;
+
+import com.wl2c.elswherebatchservice.domain.product.service.ParsingProspectusService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * 최근에 받아온 투자설명서 인덱스 (링크 -> 인덱스)
+ *
+ * 한 투자설명서는 보통 여러 회차를 포함하므로, 같은 링크를 가리키는 행들은 문서를 한 번만 받아오고 파싱함
+ * 문서 단위 추출 결과도 인덱스에 함께 저장되므로 회차마다 다시 파싱하지 않음
+ *
+ * 조회 스레드마다 서로 다른 문서를 받아오는 중일 수 있으므로, 캐시 크기는 조회 스레드 수의 두 배보다 작아지지 않도록 함
+ * (받아오는 중인 문서와 방금 받아온 문서가 함께 남아 있도록)
+ */
+@Component
+@RequiredArgsConstructor
+public class ProspectusDocumentCache {
+
+    @Value("${batch.prospectus.cache-size:8}")
+    private int cacheSize;
+
+    @Value("${batch.pipeline.fetch-concurrency:16}")
+    private int fetchConcurrency;
+
+    private final ParsingProspectusService parsingProspectusService;
+    private final MeterRegistry meterRegistry;
+
+    // 받아오는 중인 문서도 함께 두어, 같은 링크를 동시에 요청하면 한 번만 받아옴
+    private final Map<String, CompletableFuture<ProspectusIndex>> documents = new LinkedHashMap<>(16, 0.75f, true);
+
+    public ProspectusIndex get(String prospectusLink) throws IOException {
+        CompletableFuture<ProspectusIndex> future;
+        boolean owner = false;
+        synchronized (documents) {
+            future = documents.get(prospectusLink);
+            if (future == null) {
+                future = new CompletableFuture<>();
+                documents.put(prospectusLink, future);
+                if (documents.size() > capacity()) {
+                    documents.remove(documents.keySet().iterator().next());
+                }
+                owner = true;
+            }
+        }
+        // 받아오는 중인 문서를 기다리는 경우도 hit 로 셈
+        meterRegistry.counter("batch.prospectus.cache", "result", owner ? "miss" : "hit").increment();
+
+        if (owner) {
+            try {
+                // 문서를 한 번만 순회하여 표/문단 텍스트를 인덱싱하고, 이후 추출은 인덱스에서 수행
+                future.complete(ProspectusIndex.of(parsingProspectusService.fetchDocument(prospectusLink)));
+            } catch (IOException | RuntimeException e) {
+                // 실패한 문서는 다음 요청에서 다시 받아오도록 제거
+                synchronized (documents) {
+                    documents.remove(prospectusLink, future);
+                }
+                future.completeExceptionally(e);
+            }
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while fetching " + prospectusLink);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException)  throw ioException;
+            if (e.getCause() instanceof RuntimeException runtimeException)  throw runtimeException;
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private int capacity() {
+        return Math.max(cacheSize, fetchConcurrency * 2);
+    }
+}
@@ -0,0 +1,287 @@
+package com.wl2c.elswherebatchservice.domain.product.service.prospectus;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.HttpStatusException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * 공용 HTTP 클라이언트로 투자설명서를 받아옴
+ *
+ * gzip/deflate 압축을 요청하고, 네트워크 오류(본문을 읽는 중의 오류 포함)와 429/5xx 응답은 지터를 더한 지수 백오프로 재시도함
+ * 호스트별 서킷 브레이커와 동시 요청 수 제한({@link ProspectusHostGuard})을 거쳐서 요청하고, 허가는 본문을 다 읽을 때까지 유지함
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProspectusFetcher {
+
+    // 압축 데이터가 끝난 뒤 원본 스트림에 남은 부분을 읽어 버리는 최대 크기
+    private static final int DRAIN_LIMIT = 64 * 1024;
+
+    private static final String USER_AGENT = "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/14.1.1 Safari/605.1.15";
+
+    @Value("${batch.prospectus.http.request-timeout:10s}")
+    private Duration requestTimeout;
+
+    // HttpRequest 의 타임아웃은 응답 헤더까지만 적용되므로, 본문을 읽는 시간은 따로 제한함
+    @Value("${batch.prospectus.http.body-timeout:60s}")
+    private Duration bodyTimeout;
+
+    @Value("${batch.prospectus.http.max-attempts:4}")
+    private int maxAttempts;
+
+    @Value("${batch.prospectus.http.initial-backoff:500ms}")
+    private Duration initialBackoff;
+
+    @Value("${batch.prospectus.http.max-backoff:10s}")
+    private Duration maxBackoff;
+
+    private final HttpClient prospectusHttpClient;
+    private final ProspectusHostGuard prospectusHostGuard;
+    private final MeterRegistry meterRegistry;
+
+    // 본문을 제한 시간 안에 다 읽지 못하면 응답 스트림을 닫음
+    private final ScheduledExecutorService bodyDeadlines = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("prospectus-body-deadline").daemon().factory());
+
+    @PreDestroy
+    public void shutdown() {
+        bodyDeadlines.shutdownNow();
+    }
+
+    /**
+     * 저장된 문서의 ETag / Last-Modified 가 있다면 조건부 요청을 보내고, 응답을 reader 로 읽음
+     *
+     * reader 가 본문을 읽다가 IOException 을 던지면 요청부터 다시 시도함 (304 Not Modified 라면 본문이 없는 응답을 전달)
+     */
+    public <T> T fetch(String url, String etag, String lastModified, BodyReader<T> reader) throws IOException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .timeout(requestTimeout)
+                .header("User-Agent", USER_AGENT)
+                .header("Accept-Encoding", "gzip, deflate")
+                .GET();
+        if (etag != null)  builder.header("If-None-Match", etag);
+        if (lastModified != null)  builder.header("If-Modified-Since", lastModified);
+        HttpRequest request = builder.build();
+
+        for (int attempt = 1; ; attempt++) {
+            Duration retryAfter = null;
+
+            // 서킷이 열려 있다면 재시도하지 않고 바로 실패
+            ProspectusHostGuard.Permit permit = prospectusHostGuard.acquire(url);
+            try {
+                HttpResponse<InputStream> response = prospectusHttpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+                int status = response.statusCode();
+
+                if (status == 429 || status >= 500) {
+                    permit.failure();
+                    response.body().close();
+                    retryAfter = parseRetryAfter(response.headers());
+                    if (attempt >= maxAttempts) {
+                        throw new HttpStatusException("HTTP error fetching URL", status, url);
+                    }
+                    log.info("HTTP " + status + " : " + url);
+                } else if (status >= 400) {
+                    permit.success();
+                    response.body().close();
+                    throw new HttpStatusException("HTTP error fetching URL", status, url);
+                } else {
+                    T result = read(response, reader, url);
+                    permit.success();
+                    return result;
+                }
+            } catch (HttpStatusException e) {
+                // reader 가 던진 경우에도 허가를 돌려줌 (이미 돌려준 경우에는 무시됨)
+                permit.success();
+                throw e;
+            } catch (InterruptedIOException e) {
+                permit.failure();
+                throw e;
+            } catch (IOException e) {
+                permit.failure();
+                if (attempt >= maxAttempts)  throw e;
+                log.info("Error fetching " + url + " : " + e);
+            } catch (InterruptedException e) {
+                permit.failure();
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while fetching " + url);
+            } catch (RuntimeException e) {
+                // 허가를 돌려주지 않으면 호스트의 동시 요청 수 제한이 줄어든 채로 남음
+                permit.failure();
+                throw e;
+            }
+
+            meterRegistry.counter("batch.prospectus.http.retries").increment();
+            Duration backoff = retryAfter != null ? retryAfter : backoff(attempt);
+            log.info("Retrying in " + backoff.toMillis() + "ms... attempts left: " + (maxAttempts - attempt));
+            sleep(backoff, url);
+        }
+    }
+
+    /**
+     * 제한 시간 안에 본문을 읽고 응답을 닫음 (본문은 파서가 필요한 만큼만 읽음)
+     */
+    private <T> T read(HttpResponse<InputStream> response, BodyReader<T> reader, String url) throws IOException {
+        // 압축 해제 스트림을 다른 스레드에서 닫으면 Inflater 가 읽는 중에 해제되므로 원본 스트림만 닫음
+        AtomicBoolean expired = new AtomicBoolean();
+        ScheduledFuture<?> deadline = bodyDeadlines.schedule(() -> {
+            expired.set(true);
+            closeQuietly(response.body());
+        }, bodyTimeout.toMillis(), TimeUnit.MILLISECONDS);
+
+        try (Response decoded = toResponse(response)) {
+            return reader.read(decoded);
+        } catch (IOException e) {
+            if (!expired.get())  throw e;
+            HttpTimeoutException timeout = new HttpTimeoutException("Body not received within " + bodyTimeout + " : " + url);
+            timeout.initCause(e);
+            throw timeout;
+        } finally {
+            deadline.cancel(false);
+        }
+    }
+
+    private static void closeQuietly(InputStream inputStream) {
+        try {
+            inputStream.close();
+        } catch (IOException e) {
+            log.debug("Failed to close response body", e);
+        }
+    }
+
+    /**
+     * 응답 스트림을 압축 해제하는 스트림으로 감쌈
+     */
+    private static Response toResponse(HttpResponse<InputStream> response) throws IOException {
+        HttpHeaders headers = response.headers();
+        if (response.statusCode() == 304) {
+            response.body().close();
+            return new Response(304, null, null, null, null);
+        }
+
+        String encoding = headers.firstValue("Content-Encoding").orElse("").toLowerCase(Locale.ROOT);
+        InputStream body = switch (encoding) {
+            case "gzip" -> new DecodedInputStream(new GZIPInputStream(response.body()), response.body());
+            case "deflate" -> new DecodedInputStream(new InflaterInputStream(response.body()), response.body());
+            default -> response.body();
+        };
+        return new Response(
+                response.statusCode(),
+                headers.firstValue("ETag").orElse(null),
+                headers.firstValue("Last-Modified").orElse(null),
+                parseCharset(headers),
+                body);
+    }
+
+    // full jitter : 0 ~ min(최대 대기, 초기 대기 * 2^(n-1))
+    private Duration backoff(int attempt) {
+        long ceiling = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() << Math.min(attempt - 1, 20));
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(ceiling + 1));
+    }
+
+    private Duration parseRetryAfter(HttpHeaders headers) {
+        return headers.firstValue("Retry-After")
+                .filter(value -> value.matches("\\d+"))
+                .map(value -> Duration.ofSeconds(Long.parseLong(value)))
+                .map(value -> value.compareTo(maxBackoff) > 0 ? maxBackoff : value)
+                .orElse(null);
+    }
+
+    private static String parseCharset(HttpHeaders headers) {
+        return headers.firstValue("Content-Type")
+                .map(contentType -> {
+                    for (String parameter : contentType.split(";")) {
+                        String[] keyValue = parameter.trim().split("=", 2);
+                        if (keyValue.length == 2 && keyValue[0].equalsIgnoreCase("charset")) {
+                            return keyValue[1].replace("\"", "").trim();
+                        }
+                    }
+                    return null;
+                })
+                .orElse(null);
+    }
+
+    private static void sleep(Duration duration, String url) throws InterruptedIOException {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while fetching " + url);
+        }
+    }
+
+    /**
+     * 압축 해제 스트림은 압축 데이터의 끝에서 멈추고 원본 스트림의 끝까지는 읽지 않아서, 그대로 닫으면 커넥션이 재사용되지 않음.
+     * 본문을 끝까지 읽었다면 원본 스트림도 끝까지 읽음
+     */
+    private static class DecodedInputStream extends FilterInputStream {
+
+        private final InputStream raw;
+
+        DecodedInputStream(InputStream decoded, InputStream raw) {
+            super(decoded);
+            this.raw = raw;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b == -1)  raw.readNBytes(DRAIN_LIMIT);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read == -1)  raw.readNBytes(DRAIN_LIMIT);
+            return read;
+        }
+    }
+
+    @FunctionalInterface
+    public interface BodyReader<T> {
+
+        T read(Response response) throws IOException;
+    }
+
+    /**
+     * 본문을 끝까지 읽지 않고 닫으면 남은 부분은 내려받지 않음
+     */
+    public record Response(int statusCode, String etag, String lastModified, String charset, InputStream body) implements Closeable {
+
+        public boolean isNotModified() {
+            return statusCode == 304;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (body != null)  body.close();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.wl2c.elswherebatchservice.domain.product.service.prospectus;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 투자설명서 호스트별 서킷 브레이커, 요청 속도 제한, 동시 요청 수 제한
+ *
+ * 호스트가 느려지거나 오류를 반환하기 시작하면 요청마다 타임아웃을 기다리지 않고 바로 실패시켜, 해당 행은 재시도 대상으로 넘김
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProspectusHostGuard {
+
+    @Value("${batch.prospectus.circuit.window-size:20}")
+    private int windowSize;
+
+    @Value("${batch.prospectus.circuit.minimum-calls:10}")
+    private int minimumCalls;
+
+    @Value("${batch.prospectus.circuit.failure-rate:0.5}")
+    private double failureRateThreshold;
+
+    @Value("${batch.prospectus.circuit.slow-call:5s}")
+    private Duration slowCallThreshold;
+
+    @Value("${batch.prospectus.circuit.open-duration:60s}")
+    private Duration openDuration;
+
+    @Value("${batch.prospectus.rate-limit.rate:2}")
+    private double ratePerSecond;
+
+    @Value("${batch.prospectus.rate-limit.burst:10}")
+    private int burst;
+
+    @Value("${batch.prospectus.concurrency.initial:2}")
+    private int initialLimit;
+
+    @Value("${batch.prospectus.concurrency.max:8}")
+    private int maxLimit;
+
+    @Value("${batch.prospectus.concurrency.target-latency:2s}")
+    private Duration targetLatency;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Host> hosts = new ConcurrentHashMap<>();
+
+    /**
+     * 호스트에 요청을 보낼 수 있을 때까지 기다림
+     *
+     * @throws CircuitOpenException 서킷이 열려 있는 경우
+     */
+    public Permit acquire(String url) throws IOException {
+        String hostName = URI.create(url).getHost();
+        Host host = hosts.computeIfAbsent(hostName, this::newHost);
+
+        // 열린 서킷은 속도 제한을 기다리지 않고 바로 거절
+        if (!host.circuitBreaker.isCallPermitted())  throw reject(host);
+        waitForToken(host);
+        host.limiter.acquire();
+
+        // 시험 요청 자리는 마지막에 차지함 (기다리다 중단되면 시험 요청이 기록되지 않아 서킷이 계속 반쯤 열린 채로 남음)
+        if (!host.circuitBreaker.tryAcquire()) {
+            host.limiter.cancel();
+            throw reject(host);
+        }
+        return new Permit(host, System.nanoTime());
+    }
+
+    private CircuitOpenException reject(Host host) {
+        meterRegistry.counter("batch.prospectus.circuit.rejected", "host", host.name).increment();
+        return new CircuitOpenException(host.name);
+    }
+
+    // 실제로 요청을 보내는 경우에만 속도 제한을 적용하고, 기다린 시간을 기록
+    private void waitForToken(Host host) throws InterruptedIOException {
+        long waitNanos = host.tokenBucket.reserve();
+        meterRegistry.timer("batch.prospectus.rate_limit.wait", "host", host.name).record(waitNanos, TimeUnit.NANOSECONDS);
+        if (waitNanos <= 0)  return;
+
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for rate limit : " + host.name);
+        }
+    }
+
+    private Host newHost(String hostName) {
+        Host host = new Host(
+                hostName,
+                new TokenBucket(ratePerSecond, burst),
+                new HostCircuitBreaker(windowSize, minimumCalls, failureRateThreshold, slowCallThreshold, openDuration),
+                new AdaptiveConcurrencyLimiter(initialLimit, 1, maxLimit, targetLatency));
+
+        Tags tags = Tags.of("host", hostName);
+        meterRegistry.gauge("batch.prospectus.concurrency.limit", tags, host.limiter, AdaptiveConcurrencyLimiter::getLimit);
+        meterRegistry.gauge("batch.prospectus.circuit.open", tags, host.circuitBreaker,
+                circuitBreaker -> circuitBreaker.getState() == HostCircuitBreaker.State.CLOSED ? 0 : 1);
+        return host;
+    }
+
+    private record Host(String name, TokenBucket tokenBucket, HostCircuitBreaker circuitBreaker, AdaptiveConcurrencyLimiter limiter) {
+    }
+
+    /**
+     * 요청 한 번에 대한 허가 (응답을 받으면 결과를 기록해야 함)
+     */
+    public static class Permit {
+
+        private final Host host;
+        private final long startedAt;
+        private boolean released;
+
+        private Permit(Host host, long startedAt) {
+            this.host = host;
+            this.startedAt = startedAt;
+        }
+
+        public void success() {
+            release(false);
+        }
+
+        public void failure() {
+            release(true);
+        }
+
+        private void release(boolean error) {
+            if (released)  return;
+            released = true;
+
+            Duration latency = Duration.ofNanos(System.nanoTime() - startedAt);
+            HostCircuitBreaker.State before = host.circuitBreaker.getState();
+            host.circuitBreaker.record(error, latency);
+            host.limiter.release(error, latency);
+
+            HostCircuitBreaker.State after = host.circuitBreaker.getState();
+            if (before != after) {
+                log.warn("투자설명서 호스트 " + host.name + " 서킷 " + before + " -> " + after);
+            }
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.wl2c.elswherebatchservice.domain.product.service.prospectus;
+
+import lombok.Getter;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.select.NodeVisitor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 투자설명서 문서를 한 번만 순회하여 만든 표/문단 텍스트 인덱스
+ *
+ * 추출 항목마다 doc.select("table"), doc.select("p") 로 DOM 을 다시 순회하고 Element.text() 를 반복 호출하던 것을
+ * 이 인덱스에 대한 조회로 대신함. 선택 결과는 jsoup select 와 같음 (하위 표의 행/셀도 상위 표에 포함)
+ */
+public class ProspectusIndex {
+
+    @Getter
+    private final Document document;
+
+    // doc.select("table")
+    @Getter
+    private final List<Table> tables = new ArrayList<>();
+
+    // doc.select("tr")
+    @Getter
+    private final List<Row> rows = new ArrayList<>();
+
+    // doc.select("p")
+    @Getter
+    private final List<Paragraph> paragraphs = new ArrayList<>();
+
+    // 키워드 -> 해당 키워드를 포함한 문단 / td 를 가진 표
+    private final Map<String, List<Paragraph>> paragraphHits = new ConcurrentHashMap<>();
+    private final Map<String, List<Table>> tableHits = new ConcurrentHashMap<>();
+
+    // 문서 단위 추출 결과 (추출 항목 -> 결과)
+    // 추출 중에 다른 항목을 memoize 하기도 하므로 computeIfAbsent 대신 항목마다 future 를 둠
+    private final Map<String, CompletableFuture<Object>> extractions = new ConcurrentHashMap<>();
+
+    private ProspectusIndex(Document document) {
+        this.document = document;
+    }
+
+    public static ProspectusIndex of(Document document) {
+        ProspectusIndex index = new ProspectusIndex(document);
+        index.build();
+        return index;
+    }
+
+    /**
+     * 키워드를 포함한 문단
+     */
+    public List<Paragraph> paragraphsContaining(String keyword) {
+        return paragraphHits.computeIfAbsent(keyword, k -> paragraphs.stream()
+                .filter(paragraph -> paragraph.getText().contains(k))
+                .toList());
+    }
+
+    /**
+     * 키워드를 포함한 td 가 있는 표
+     */
+    public List<Table> tablesWithCellContaining(String keyword) {
+        return tableHits.computeIfAbsent(keyword, k -> tables.stream()
+                .filter(table -> table.getTdTexts().stream().anyMatch(text -> text.contains(k)))
+                .toList());
+    }
+
+    /**
+     * 같은 문서에 대한 추출 결과를 재사용 (null 결과도 저장)
+     *
+     * 같은 항목을 동시에 요청하면 먼저 요청한 스레드만 추출하고 나머지는 그 결과를 기다림 (다른 항목은 기다리지 않음)
+     * 추출에 실패하면 저장하지 않으므로 다음 요청에서 다시 추출함
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T memoize(String key, Supplier<T> extraction) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = extractions.putIfAbsent(key, future);
+        if (existing != null) {
+            try {
+                return (T) existing.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause)  throw cause;
+                if (e.getCause() instanceof Error cause)  throw cause;
+                throw e;
+            }
+        }
+
+        try {
+            T result = extraction.get();
+            future.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            extractions.remove(key, future);
+            future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private void build() {
+        Map<Element, Table> tableByElement = new IdentityHashMap<>();
+        Map<Paragraph, Element> nextSiblings = new IdentityHashMap<>();
+
+        Deque<Table> openTables = new ArrayDeque<>();
+        Deque<Row> openRows = new ArrayDeque<>();
+
+        document.traverse(new NodeVisitor() {
+            @Override
+            public void head(Node node, int depth) {
+                if (!(node instanceof Element element))  return;
+
+                switch (element.normalName()) {
+                    case "table" -> {
+                        Table table = new Table();
+                        tables.add(table);
+                        tableByElement.put(element, table);
+                        openTables.push(table);
+                    }
+                    case "tr" -> {
+                        Row row = new Row();
+                        rows.add(row);
+                        openTables.forEach(table -> table.rows.add(row));
+                        openRows.push(row);
+                    }
+                    case "td", "th" -> {
+                        String text = element.text();
+                        String stripped = text.strip();
+                        boolean td = element.normalName().equals("td");
+                        for (Row row : openRows) {
+                            row.cells.add(stripped);
+                            if (td)  row.tdTexts.add(text);
+                        }
+                        if (td) {
+                            openTables.forEach(table -> table.tdTexts.add(text));
+                        }
+                    }
+                    case "p" -> {
+                        Paragraph paragraph = new Paragraph(element.text());
+                        paragraphs.add(paragraph);
+                        Element nextSibling = element.nextElementSibling();
+                        paragraph.followedByElement = nextSibling != null;
+                        if (nextSibling != null && nextSibling.normalName().equals("table")) {
+                            nextSiblings.put(paragraph, nextSibling);
+                        }
+                    }
+                    default -> {
+                    }
+                }
+            }
+
+            @Override
+            public void tail(Node node, int depth) {
+                if (!(node instanceof Element element))  return;
+
+                switch (element.normalName()) {
+                    case "table" -> openTables.pop();
+                    case "tr" -> openRows.pop();
+                    default -> {
+                    }
+                }
+            }
+        });
+
+        // 문단 바로 뒤의 표는 문단보다 나중에 방문하므로 순회가 끝난 뒤 연결
+        nextSiblings.forEach((paragraph, element) -> paragraph.nextTable = tableByElement.get(element));
+    }
+
+    /**
+     * table.select("tr") 의 각 행과 table.select("td") 텍스트
+     */
+    public static class Table {
+
+        private final List<Row> rows = new ArrayList<>();
+        private final List<String> tdTexts = new ArrayList<>();
+
+        public List<Row> getRows() {
+            return Collections.unmodifiableList(rows);
+        }
+
+        public List<String> getTdTexts() {
+            return Collections.unmodifiableList(tdTexts);
+        }
+
+        public boolean isEmpty() {
+            return rows.isEmpty();
+        }
+    }
+
+    /**
+     * row.select("th, td") 텍스트 (strip 적용) 와 row.select("td") 텍스트
+     */
+    public static class Row {
+
+        private final List<String> cells = new ArrayList<>();
+        private final List<String> tdTexts = new ArrayList<>();
+
+        public List<String> getCells() {
+            return Collections.unmodifiableList(cells);
+        }
+
+        public List<String> getTdTexts() {
+            return Collections.unmodifiableList(tdTexts);
+        }
+    }
+
+    /**
+     * p 태그 텍스트와 바로 다음 형제 요소가 표라면 그 표
+     */
+    @Getter
+    public static class Paragraph {
+
+        private final String text;
+
+        // 다음 형제 요소가 있는지 (표가 아니더라도)
+        private boolean followedByElement;
+
+        private Table nextTable;
+
+        private Paragraph(String text) {
+            this.text = text;
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.wl2c.elswherebatchservice.domain.product.service.prospectus;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 내려받은 투자설명서를 디스크에 보관하는 저장소
+ *
+ * 메타데이터(ETag, Last-Modified 등)는 URL 해시별로, 본문은 내용 해시별로 gzip 압축하여 저장하므로
+ * 같은 문서를 가리키는 여러 URL 은 본문을 공유함. 전체 본문 크기가 최대 크기를 넘으면 가장 오래 사용하지 않은 항목부터 삭제
+ * (전체 본문 크기는 시작 시 한 번 계산한 뒤 본문을 쓰고 지울 때마다 갱신하므로, 저장할 때마다 디렉터리를 훑지 않음)
+ * 파싱을 일찍 멈춘 문서는 앞부분만 저장하므로, 메타데이터에 끝까지 저장했는지 여부를 함께 기록함
+ */
+@Component
+@Slf4j
+public class ProspectusStore {
+
+    private static final String META_DIRECTORY = "meta";
+    private static final String BLOB_DIRECTORY = "blobs";
+
+    private final Path metaDirectory;
+    private final Path blobDirectory;
+    private final long maxSizeBytes;
+
+    private final AtomicLong blobSize = new AtomicLong();
+
+    // 본문 파일 생성/삭제 (같은 본문을 동시에 저장할 때 크기를 두 번 더하지 않도록)
+    private final ReentrantLock blobLock = new ReentrantLock();
+
+    public ProspectusStore(@Value("${file.prospectus.store-path:/data/prospectus}") String storePath,
+                           @Value("${batch.prospectus.store-max-size:2GB}") DataSize maxSize) {
+        Path root = Paths.get(storePath);
+        this.metaDirectory = root.resolve(META_DIRECTORY);
+        this.blobDirectory = root.resolve(BLOB_DIRECTORY);
+        this.maxSizeBytes = maxSize.toBytes();
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        blobSize.set(directorySize(blobDirectory));
+    }
+
+    public Optional<Metadata> findMetadata(String url) {
+        Path metaFile = metaFile(url);
+        if (!Files.exists(metaFile))  return Optional.empty();
+
+        try (InputStream inputStream = Files.newInputStream(metaFile)) {
+            Properties properties = new Properties();
+            properties.load(inputStream);
+            Metadata metadata = Metadata.of(properties);
+
+            // 본문이 삭제된 항목은 없는 것으로 간주
+            if (!Files.exists(blobFile(metadata.contentHash())))  return Optional.empty();
+            return Optional.of(metadata);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Error reading prospectus metadata: " + url, e);
+            return Optional.empty();
+        }
+    }
+
+    public InputStream openBody(Metadata metadata) throws IOException {
+        touch(metaFile(metadata.url()));
+        return new GZIPInputStream(Files.newInputStream(blobFile(metadata.contentHash())));
+    }
+
+    /**
+     * 서버가 304 Not Modified 로 응답한 경우 검증 시각만 갱신
+     */
+    public Metadata revalidated(Metadata metadata) throws IOException {
+        Metadata revalidated = metadata.withValidatedAt(Instant.now());
+        writeMetadata(revalidated);
+        return revalidated;
+    }
+
+    /**
+     * @param complete  본문이 문서 전체라면 true (앞부분만 읽었다면 false)
+     * @param truncated 최대 크기에서 잘려 추출에 필요한 부분이 빠졌을 수 있다면 true
+     */
+    public Metadata save(String url, String etag, String lastModified, String charset, byte[] body, boolean complete, boolean truncated) throws IOException {
+        String contentHash = sha256(body);
+        if (!Files.exists(blobFile(contentHash)))  writeBlob(contentHash, body);
+
+        Metadata metadata = new Metadata(url, etag, lastModified, charset, contentHash, complete, truncated, Instant.now());
+        writeMetadata(metadata);
+        if (blobSize.get() > maxSizeBytes)  evict();
+        return metadata;
+    }
+
+    // 압축은 잠금 밖에서 하고, 본문 파일 생성과 크기 갱신만 잠금 안에서 수행
+    private void writeBlob(String contentHash, byte[] body) throws IOException {
+        Files.createDirectories(blobDirectory);
+        Path temp = Files.createTempFile(blobDirectory, contentHash, ".tmp");
+        try (OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(temp))) {
+            outputStream.write(body);
+        }
+
+        blobLock.lock();
+        try {
+            Path blobFile = blobFile(contentHash);
+            if (Files.exists(blobFile)) {
+                Files.delete(temp);
+                return;
+            }
+            Files.move(temp, blobFile, StandardCopyOption.ATOMIC_MOVE);
+            blobSize.addAndGet(Files.size(blobFile));
+        } finally {
+            blobLock.unlock();
+        }
+    }
+
+    private void writeMetadata(Metadata metadata) throws IOException {
+        Files.createDirectories(metaDirectory);
+        Path metaFile = metaFile(metadata.url());
+        Path temp = Files.createTempFile(metaDirectory, metaFile.getFileName().toString(), ".tmp");
+        try (OutputStream outputStream = Files.newOutputStream(temp)) {
+            metadata.toProperties().store(outputStream, null);
+        }
+        Files.move(temp, metaFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 전체 본문 크기가 최대 크기 이하가 될 때까지 마지막 사용 시각이 오래된 메타데이터부터 삭제하고,
+     * 더 이상 참조되지 않는 본문을 삭제
+     */
+    private void evict() throws IOException {
+        blobLock.lock();
+        try {
+            // 다른 스레드가 먼저 정리했을 수 있음
+            if (blobSize.get() <= maxSizeBytes)  return;
+
+            List<Path> metaFiles = listFiles(metaDirectory);
+            metaFiles.sort(Comparator.comparing(ProspectusStore::lastModifiedTime));
+
+            // 본문별로 참조하는 메타데이터 개수
+            Map<String, Integer> references = new HashMap<>();
+            Map<Path, String> contentHashes = new HashMap<>();
+            for (Path metaFile : metaFiles) {
+                String contentHash = readContentHash(metaFile);
+                if (contentHash == null)  continue;
+                contentHashes.put(metaFile, contentHash);
+                references.merge(contentHash, 1, Integer::sum);
+            }
+
+            int evicted = 0;
+            for (Path metaFile : metaFiles) {
+                if (blobSize.get() <= maxSizeBytes)  break;
+
+                Files.deleteIfExists(metaFile);
+                evicted++;
+
+                String contentHash = contentHashes.get(metaFile);
+                if (contentHash != null && references.merge(contentHash, -1, Integer::sum) == 0) {
+                    Path blobFile = blobFile(contentHash);
+                    if (Files.exists(blobFile)) {
+                        long size = Files.size(blobFile);
+                        Files.delete(blobFile);
+                        blobSize.addAndGet(-size);
+                    }
+                }
+            }
+            log.info("투자설명서 저장소 크기 초과로 " + evicted + " 개 항목 삭제");
+        } finally {
+            blobLock.unlock();
+        }
+    }
+
+    private Path metaFile(String url) {
+        return metaDirectory.resolve(sha256(url.getBytes(StandardCharsets.UTF_8)) + ".properties");
+    }
+
+    private Path blobFile(String contentHash) {
+        return blobDirectory.resolve(contentHash + ".gz");
+    }
+
+    private static String readContentHash(Path metaFile) {
+        try (InputStream inputStream = Files.newInputStream(metaFile)) {
+            Properties properties = new Properties();
+            properties.load(inputStream);
+            return properties.getProperty("contentHash");
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void touch(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+        } catch (IOException e) {
+            log.warn("Error touching prospectus metadata: " + file, e);
+        }
+    }
+
+    private static long directorySize(Path directory) throws IOException {
+        long size = 0;
+        for (Path file : listFiles(directory)) {
+            size += Files.size(file);
+        }
+        return size;
+    }
+
+    private static List<Path> listFiles(Path directory) throws IOException {
+        if (!Files.isDirectory(directory))  return new ArrayList<>();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            return new ArrayList<>(files.filter(file -> !file.toString().endsWith(".tmp")).toList());
+        }
+    }
+
+    private static FileTime lastModifiedTime(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 저장된 투자설명서의 재검증용 헤더와 본문 위치
+     *
+     * ETag / Last-Modified 는 문서 전체에 대한 값이므로, 앞부분만 저장한 본문(complete = false)을 재검증하는 데 사용하면 안 됨.
+     * 종료 표지에서 멈춘 본문은 추출에 그대로 사용할 수 있고, 최대 크기에서 잘린 본문(truncated = true)만 부족할 수 있음
+     */
+    public record Metadata(String url, String etag, String lastModified, String charset, String contentHash,
+                           boolean complete, boolean truncated, Instant validatedAt) {
+
+        static Metadata of(Properties properties) {
+            return new Metadata(
+                    properties.getProperty("url"),
+                    properties.getProperty("etag"),
+                    properties.getProperty("lastModified"),
+                    properties.getProperty("charset"),
+                    properties.getProperty("contentHash"),
+                    // 이 값을 기록하기 전에 저장한 항목은 앞부분만 저장했을 수 있음
+                    Boolean.parseBoolean(properties.getProperty("complete")),
+                    Boolean.parseBoolean(properties.getProperty("truncated")),
+                    Instant.parse(properties.getProperty("validatedAt")));
+        }
+
+        Metadata withValidatedAt(Instant validatedAt) {
+            return new Metadata(url, etag, lastModified, charset, contentHash, complete, truncated, validatedAt);
+        }
+
+        Properties toProperties() {
+            Properties properties = new Properties();
+            properties.setProperty("url", url);
+            if (etag != null)  properties.setProperty("etag", etag);
+            if (lastModified != null)  properties.setProperty("lastModified", lastModified);
+            if (charset != null)  properties.setProperty("charset", charset);
+            properties.setProperty("contentHash", contentHash);
+            properties.setProperty("complete", String.valueOf(complete));
+            properties.setProperty("truncated", String.valueOf(truncated));
+            properties.setProperty("validatedAt", validatedAt.toString());
+            return properties;
+        }
+    }
+}
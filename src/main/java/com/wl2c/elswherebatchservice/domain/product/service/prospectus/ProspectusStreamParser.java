@@ -0,0 +1,192 @@
+package com.wl2c.elswherebatchservice.domain.product.service.prospectus;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.parser.Parser;
+import org.jsoup.parser.StreamParser;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 투자설명서를 스트리밍으로 파싱하면서 필요한 부분까지만 읽음
+ *
+ * 추출에 사용하는 표/문단은 모두 문서 앞부분(모집 또는 매출에 관한 사항)에 있으므로,
+ * 필요한 키워드를 모두 만난 뒤 종료 표지(발행인에 관한 사항 등)가 나오거나 최대 크기에 도달하면 더 읽지 않음
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProspectusStreamParser {
+
+    private static final int CHARSET_SNIFF_BYTES = 4096;
+    private static final Pattern CHARSET_PATTERN = Pattern.compile("charset\\s*=\\s*[\"']?([\\w-]+)", Pattern.CASE_INSENSITIVE);
+
+    @Value("${batch.prospectus.max-parse-size:8MB}")
+    private DataSize maxParseSize;
+
+    @Value("${batch.prospectus.required-keywords:최초기준가격,만기,자동조기상환평가일,기초자산가격 변동성}")
+    private List<String> requiredKeywords;
+
+    @Value("${batch.prospectus.stop-markers:발행인에 관한 사항,발행회사에 관한 사항}")
+    private List<String> stopMarkers;
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * @param charset 응답 헤더의 문자셋 (없으면 문서 앞부분의 meta 태그, 그래도 없으면 UTF-8)
+     * @return 읽은 부분까지의 문서와, 실제로 읽은 원본 바이트 (끝까지 읽었는지 여부)
+     */
+    public Parsed parse(InputStream inputStream, String charset, String baseUri) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(inputStream, CHARSET_SNIFF_BYTES);
+        Charset resolvedCharset = resolveCharset(buffered, charset);
+
+        CapturingInputStream captured = new CapturingInputStream(buffered, maxParseSize.toBytes());
+        StopReason stopReason = StopReason.END_OF_DOCUMENT;
+        Document document;
+        try (StreamParser streamParser = new StreamParser(Parser.htmlParser())) {
+            streamParser.parse(new InputStreamReader(captured, resolvedCharset), baseUri);
+
+            // 닫힌 요소 순서대로 전달되므로 ownText 만 확인하면 됨
+            Set<String> remainingKeywords = new HashSet<>(requiredKeywords);
+            Iterator<Element> elements = streamParser.iterator();
+            while (elements.hasNext()) {
+                String ownText = elements.next().ownText();
+                if (ownText.isEmpty())  continue;
+
+                if (remainingKeywords.isEmpty()) {
+                    if (stopMarkers.stream().anyMatch(ownText::contains)) {
+                        stopReason = StopReason.STOP_MARKER;
+                        streamParser.stop();
+                        break;
+                    }
+                } else {
+                    remainingKeywords.removeIf(ownText::contains);
+                }
+            }
+            document = streamParser.document();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        if (captured.isTruncated()) {
+            stopReason = StopReason.SIZE_LIMIT;
+            log.info("투자설명서 최대 파싱 크기 도달 : " + baseUri);
+        }
+        meterRegistry.counter("batch.prospectus.parse", "stop", stopReason.tag).increment();
+        meterRegistry.summary("batch.prospectus.parse.bytes").record(captured.size());
+
+        return new Parsed(document, captured.toByteArray(), resolvedCharset.name(),
+                stopReason == StopReason.END_OF_DOCUMENT, stopReason == StopReason.SIZE_LIMIT);
+    }
+
+    /**
+     * 헤더에 문자셋이 없다면 문서 앞부분의 meta 태그에서 찾음
+     */
+    private static Charset resolveCharset(BufferedInputStream inputStream, String charset) throws IOException {
+        if (charset == null) {
+            inputStream.mark(CHARSET_SNIFF_BYTES);
+            byte[] head = inputStream.readNBytes(CHARSET_SNIFF_BYTES);
+            inputStream.reset();
+
+            Matcher matcher = CHARSET_PATTERN.matcher(new String(head, StandardCharsets.ISO_8859_1));
+            charset = matcher.find() ? matcher.group(1) : null;
+        }
+
+        try {
+            return charset != null && Charset.isSupported(charset) ? Charset.forName(charset) : StandardCharsets.UTF_8;
+        } catch (IllegalArgumentException e) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+
+    /**
+     * @param complete  문서를 끝까지 읽었다면 true (false 라면 body 는 문서의 앞부분)
+     * @param truncated 최대 크기에서 잘렸다면 true (종료 표지에서 멈춘 경우에는 추출에 필요한 부분을 모두 읽었으므로 false)
+     */
+    public record Parsed(Document document, byte[] body, String charset, boolean complete, boolean truncated) {
+    }
+
+    private enum StopReason {
+        END_OF_DOCUMENT("end"), STOP_MARKER("marker"), SIZE_LIMIT("limit");
+
+        private final String tag;
+
+        StopReason(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    /**
+     * 최대 크기까지만 읽고, 읽은 바이트를 저장소에 보관할 수 있도록 함께 기록
+     */
+    private static class CapturingInputStream extends FilterInputStream {
+
+        private final ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        private final long limit;
+        private boolean truncated;
+
+        CapturingInputStream(InputStream inputStream, long limit) {
+            super(inputStream);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining() <= 0)  return overLimit();
+            int b = super.read();
+            if (b != -1)  captured.write(b);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            long remaining = remaining();
+            if (remaining <= 0)  return overLimit();
+            int read = super.read(buffer, offset, (int) Math.min(length, remaining));
+            if (read > 0)  captured.write(buffer, offset, read);
+            return read;
+        }
+
+        // 최대 크기만큼 읽은 뒤에 한 바이트가 더 있는 경우에만 잘린 것으로 봄 (문서 크기가 최대 크기와 같을 수 있음)
+        private int overLimit() throws IOException {
+            if (!truncated && super.read() != -1)  truncated = true;
+            return -1;
+        }
+
+        private long remaining() {
+            return limit - captured.size();
+        }
+
+        boolean isTruncated() {
+            return truncated;
+        }
+
+        int size() {
+            return captured.size();
+        }
+
+        byte[] toByteArray() {
+            return captured.toByteArray();
+        }
+    }
+}
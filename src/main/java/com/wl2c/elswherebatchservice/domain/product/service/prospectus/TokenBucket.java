@@ -0,0 +1,44 @@
+package com.wl2c.elswherebatchservice.domain.product.service.prospectus;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 호스트 하나에 대한 요청 속도 제한 (초당 rate 개, 최대 burst 개까지 몰아서 허용)
+ *
+ * 토큰이 부족하면 미리 예약하고 남은 토큰을 음수로 두어, 대기하는 요청들이 순서대로 간격을 두고 나가도록 함
+ */
+class TokenBucket {
+
+    private final double ratePerNano;
+    private final double burst;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private double tokens;
+    private long refilledAt = System.nanoTime();
+
+    TokenBucket(double ratePerSecond, int burst) {
+        this.ratePerNano = ratePerSecond / 1_000_000_000d;
+        this.burst = burst;
+        this.tokens = burst;
+    }
+
+    /**
+     * 토큰 하나를 예약
+     *
+     * @return 요청을 보내기 전에 기다려야 하는 시간 (ns)
+     */
+    long reserve() {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            tokens = Math.min(burst, tokens + (now - refilledAt) * ratePerNano);
+            refilledAt = now;
+
+            tokens -= 1;
+            return tokens >= 0 ? 0 : (long) (-tokens / ratePerNano);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
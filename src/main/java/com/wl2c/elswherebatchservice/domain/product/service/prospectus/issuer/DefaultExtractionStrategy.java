@@ -0,0 +1,170 @@
+package com.wl2c.elswherebatchservice.domain.product.service.prospectus.issuer;
+
+import com.wl2c.elswherebatchservice.domain.product.model.MaturityEvaluationDateType;
+import com.wl2c.elswherebatchservice.domain.product.service.prospectus.ProspectusIndex;
+import com.wl2c.elswherebatchservice.global.util.RegexTimeLimiter;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 발행회사별 방식이 없는 경우의 기본 방식 (문단 -> 표 순서로 찾음)
+ */
+@Component
+public class DefaultExtractionStrategy implements IssuerExtractionStrategy {
+
+    protected static final Pattern DATE_PATTERN = Pattern.compile("\\d{4}년 \\d{2}월 \\d{2}일");
+
+    @Override
+    public String issuer() {
+        return null;
+    }
+
+    @Override
+    public String name() {
+        return "default";
+    }
+
+    @Override
+    public List<String> findInitialBasePriceEvaluationDates(ProspectusIndex prospectus) {
+        List<String> result = new ArrayList<>();
+
+        // p tag
+        for (ProspectusIndex.Paragraph paragraph : prospectus.paragraphsContaining("최초기준가격평가일")) {
+            Matcher matcher = RegexTimeLimiter.matcher(DATE_PATTERN, paragraph.getText());
+            if (matcher.find()) {
+                String date = matcher.group();
+                result.add(date);
+            }
+        }
+
+        // table - "최초기준가격평가일"이 포함된 <td>가 있는 표에서
+        for (ProspectusIndex.Table table : prospectus.tablesWithCellContaining("최초기준가격평가일")) {
+            // 각 <td>의 텍스트를 검사하여 날짜 패턴과 일치하는 문자열을 찾기
+            for (String td : table.getTdTexts()) {
+                Matcher matcher = RegexTimeLimiter.matcher(DATE_PATTERN, td);
+                if (matcher.find()) {
+                    // 날짜 문자열을 출력
+                    result.add(matcher.group());
+                }
+            }
+        }
+
+        return result;
+    }
+
+    // 보통 각 상품당 만기 평가일은 하나 이나, 발행사에서 교란일 등으로 인해 예상 평가일을 여러 날짜로 표기한 경우
+    // 그중에 최초 만기 평가일을 가져오는 것으로 함
+    @Override
+    public List<String> findMaturityEvaluationDates(ProspectusIndex prospectus) {
+        List<String> result = new ArrayList<>();
+
+        // p tag
+        for (ProspectusIndex.Paragraph paragraph : prospectus.getParagraphs()) {
+            String pText = paragraph.getText();
+            if (pText.contains("만기평가일 :") || pText.contains("만기상환평가일 :")) {
+
+                Matcher matcher = RegexTimeLimiter.matcher(DATE_PATTERN, pText);
+                if (matcher.find()) {
+                    String date = matcher.group();
+                    result.add(date);
+                }
+
+                // 바로 다음 표
+                ProspectusIndex.Table table = paragraph.getNextTable();
+                if (table == null)   continue;
+
+                for (String td : table.getTdTexts()) {
+                    matcher = RegexTimeLimiter.matcher(DATE_PATTERN, td);
+                    if (matcher.find()) {
+                        result.add(matcher.group());
+                        break;
+                    }
+                }
+            }
+        }
+
+        // table - "만기상환평가일 :"이 포함된 <td>가 있는 표에서
+        for (ProspectusIndex.Table table : prospectus.tablesWithCellContaining("만기상환평가일 :")) {
+            // 각 <td>의 텍스트를 검사하여 날짜 패턴과 일치하는 문자열을 찾기
+            for (String td : table.getTdTexts()) {
+                Matcher matcher = RegexTimeLimiter.matcher(DATE_PATTERN, td);
+                if (matcher.find()) {
+                    // 날짜 문자열을 출력
+                    result.add(matcher.group());
+                    break;
+                }
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public List<MaturityEvaluationDateType> findMaturityEvaluationDateTypes(ProspectusIndex prospectus) {
+        List<MaturityEvaluationDateType> result = new ArrayList<>();
+
+        // p tag
+        int count;
+        for (ProspectusIndex.Paragraph paragraph : prospectus.getParagraphs()) {
+            String pText = paragraph.getText();
+            if (pText.contains("만기평가일 :") || pText.contains("만기상환평가일 :")) {
+
+                count = 0;
+                Matcher matcher = RegexTimeLimiter.matcher(DATE_PATTERN, pText);
+                if (matcher.find()) {
+                    count++;
+                }
+
+                if (!paragraph.isFollowedByElement())   continue;
+
+                // 바로 다음 요소가 표라면 표의 날짜도 셈
+                ProspectusIndex.Table table = paragraph.getNextTable();
+                if (table != null) {
+                    for (String td : table.getTdTexts()) {
+                        matcher = RegexTimeLimiter.matcher(DATE_PATTERN, td);
+                        while (matcher.find()) {
+                            count++;
+                        }
+                    }
+                }
+
+                addType(result, count);
+            }
+        }
+
+        // table - "만기상환평가일 :"이 포함된 <td>가 있는 표에서
+        for (ProspectusIndex.Table table : prospectus.tablesWithCellContaining("만기상환평가일 :")) {
+            count = 0;
+            // 각 <td>의 텍스트를 검사하여 날짜 패턴과 일치하는 문자열을 찾기
+            for (String td : table.getTdTexts()) {
+                Matcher matcher = RegexTimeLimiter.matcher(DATE_PATTERN, td);
+                if (matcher.find()) {
+                    count++;
+                }
+            }
+
+            addType(result, count);
+        }
+
+        return result;
+    }
+
+    protected static int countDates(String text) {
+        int count = 0;
+        Matcher matcher = RegexTimeLimiter.matcher(DATE_PATTERN, text);
+        while (matcher.find()) {
+            count++;
+        }
+        return count;
+    }
+
+    // 날짜가 없다면 추가하지 않음
+    protected static void addType(List<MaturityEvaluationDateType> result, int count) {
+        if (count > 1)  result.add(MaturityEvaluationDateType.MULTIPLE);
+        else if (count == 1) result.add(MaturityEvaluationDateType.SINGLE);
+    }
+}
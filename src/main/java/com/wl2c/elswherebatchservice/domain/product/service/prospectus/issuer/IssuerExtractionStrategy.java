@@ -0,0 +1,33 @@
+package com.wl2c.elswherebatchservice.domain.product.service.prospectus.issuer;
+
+import com.wl2c.elswherebatchservice.domain.product.model.MaturityEvaluationDateType;
+import com.wl2c.elswherebatchservice.domain.product.service.prospectus.ProspectusIndex;
+
+import java.util.List;
+
+/**
+ * 발행회사별 투자설명서 추출 방식
+ *
+ * 각 메서드는 투자설명서에 나오는 순서대로 모든 회차의 값을 반환
+ */
+public interface IssuerExtractionStrategy {
+
+    /**
+     * 이 방식을 사용하는 발행회사 (기본 방식이라면 null)
+     */
+    String issuer();
+
+    /**
+     * 지표 태그로 사용하는 이름
+     */
+    String name();
+
+    // 최초기준가격평가일(최초기준가격 결정일)
+    List<String> findInitialBasePriceEvaluationDates(ProspectusIndex prospectus);
+
+    // 만기평가일(만기상환평가일)
+    List<String> findMaturityEvaluationDates(ProspectusIndex prospectus);
+
+    // 만기평가일(만기상환평가일) 개수
+    List<MaturityEvaluationDateType> findMaturityEvaluationDateTypes(ProspectusIndex prospectus);
+}
@@ -0,0 +1,69 @@
+package com.wl2c.elswherebatchservice.domain.product.service.prospectus.issuer;
+
+import com.wl2c.elswherebatchservice.domain.product.service.prospectus.ProspectusIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * 발행회사 -> 추출 방식
+ *
+ * 방식별, 항목별로 소요 시간과 결과 유무를 기록하여 느리거나 더 이상 맞지 않는 방식을 확인할 수 있도록 함
+ */
+@Component
+public class IssuerExtractionStrategyRegistry {
+
+    private final Map<String, IssuerExtractionStrategy> strategies = new HashMap<>();
+    private final IssuerExtractionStrategy defaultStrategy;
+
+    private final MeterRegistry meterRegistry;
+
+    public IssuerExtractionStrategyRegistry(List<IssuerExtractionStrategy> strategies, MeterRegistry meterRegistry) {
+        IssuerExtractionStrategy defaultStrategy = null;
+        for (IssuerExtractionStrategy strategy : strategies) {
+            if (strategy.issuer() == null) {
+                defaultStrategy = strategy;
+            } else if (this.strategies.put(strategy.issuer(), strategy) != null) {
+                throw new IllegalStateException("Duplicate extraction strategy for issuer : " + strategy.issuer());
+            }
+        }
+        if (defaultStrategy == null) {
+            throw new IllegalStateException("Default extraction strategy not found");
+        }
+
+        this.defaultStrategy = defaultStrategy;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public IssuerExtractionStrategy get(String issuer) {
+        return issuer == null ? defaultStrategy : strategies.getOrDefault(issuer, defaultStrategy);
+    }
+
+    /**
+     * 발행회사의 방식으로 한 항목을 추출 (문서마다 한 번)
+     */
+    public <T> List<T> extract(String field,
+                               String issuer,
+                               ProspectusIndex prospectus,
+                               BiFunction<IssuerExtractionStrategy, ProspectusIndex, List<T>> extractor) {
+        IssuerExtractionStrategy strategy = get(issuer);
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        List<T> result = null;
+        try {
+            result = extractor.apply(strategy, prospectus);
+            return result;
+        } finally {
+            sample.stop(meterRegistry.timer("batch.prospectus.strategy", "strategy", strategy.name(), "field", field));
+            meterRegistry.counter("batch.prospectus.strategy.results",
+                    "strategy", strategy.name(),
+                    "field", field,
+                    "result", result == null ? "error" : result.isEmpty() ? "miss" : "hit").increment();
+        }
+    }
+}
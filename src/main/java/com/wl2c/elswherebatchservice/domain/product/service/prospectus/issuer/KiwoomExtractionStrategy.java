@@ -0,0 +1,38 @@
+package com.wl2c.elswherebatchservice.domain.product.service.prospectus.issuer;
+
+import com.wl2c.elswherebatchservice.domain.product.model.MaturityEvaluationDateType;
+import com.wl2c.elswherebatchservice.domain.product.service.prospectus.ProspectusIndex;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 키움증권 - 만기평가일 개수는 "만기평가일 :" 문단에서만 셈 (날짜는 기본 방식)
+ */
+@Component
+public class KiwoomExtractionStrategy extends DefaultExtractionStrategy {
+
+    private static final String MATURITY_KEYWORD = "만기평가일 :";
+
+    @Override
+    public String issuer() {
+        return "키움증권";
+    }
+
+    @Override
+    public String name() {
+        return "kiwoom";
+    }
+
+    @Override
+    public List<MaturityEvaluationDateType> findMaturityEvaluationDateTypes(ProspectusIndex prospectus) {
+        List<MaturityEvaluationDateType> result = new ArrayList<>();
+
+        for (ProspectusIndex.Paragraph paragraph : prospectus.paragraphsContaining(MATURITY_KEYWORD)) {
+            addType(result, countDates(paragraph.getText()));
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,64 @@
+package com.wl2c.elswherebatchservice.domain.product.service.prospectus.issuer;
+
+import com.wl2c.elswherebatchservice.domain.product.model.MaturityEvaluationDateType;
+import com.wl2c.elswherebatchservice.domain.product.service.prospectus.ProspectusIndex;
+import com.wl2c.elswherebatchservice.global.util.RegexTimeLimiter;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+
+/**
+ * 교보증권 - 만기평가일 표 (최초기준가격평가일은 기본 방식)
+ */
+@Component
+public class KyoboExtractionStrategy extends DefaultExtractionStrategy {
+
+    private static final String MATURITY_KEYWORD = "만기평가일";
+
+    @Override
+    public String issuer() {
+        return "교보증권";
+    }
+
+    @Override
+    public String name() {
+        return "kyobo";
+    }
+
+    @Override
+    public List<String> findMaturityEvaluationDates(ProspectusIndex prospectus) {
+        List<String> result = new ArrayList<>();
+
+        // "만기평가일"이 포함된 <td>가 있는 표에서
+        for (ProspectusIndex.Table table : prospectus.tablesWithCellContaining(MATURITY_KEYWORD)) {
+            // 각 <td>의 텍스트를 검사하여 날짜 패턴과 일치하는 문자열을 찾기
+            for (String td : table.getTdTexts()) {
+                Matcher matcher = RegexTimeLimiter.matcher(DATE_PATTERN, td);
+                if (matcher.find()) {
+                    // 날짜 문자열을 출력
+                    result.add(matcher.group());
+                    break;
+                }
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public List<MaturityEvaluationDateType> findMaturityEvaluationDateTypes(ProspectusIndex prospectus) {
+        List<MaturityEvaluationDateType> result = new ArrayList<>();
+
+        // "만기평가일"이 포함된 <td>가 있는 표에서
+        for (ProspectusIndex.Table table : prospectus.tablesWithCellContaining(MATURITY_KEYWORD)) {
+            // 각 <td>의 텍스트를 검사하여 날짜 패턴과 일치하는 문자열을 찾기
+            for (String td : table.getTdTexts()) {
+                addType(result, countDates(td));
+            }
+        }
+
+        return result;
+    }
+}
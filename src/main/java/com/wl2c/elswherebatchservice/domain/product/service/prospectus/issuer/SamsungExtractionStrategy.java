@@ -0,0 +1,92 @@
+package com.wl2c.elswherebatchservice.domain.product.service.prospectus.issuer;
+
+import com.wl2c.elswherebatchservice.domain.product.model.MaturityEvaluationDateType;
+import com.wl2c.elswherebatchservice.domain.product.service.prospectus.ProspectusIndex;
+import com.wl2c.elswherebatchservice.global.util.RegexTimeLimiter;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+
+/**
+ * 삼성증권 - 최초기준가격 결정일 (예정), 만기평가일 (예정)
+ */
+@Component
+public class SamsungExtractionStrategy extends DefaultExtractionStrategy {
+
+    private static final String INITIAL_BASE_PRICE_KEYWORD = "최초기준가격 결정일 (예정)";
+    private static final String MATURITY_KEYWORD = "만기평가일 (예정)";
+
+    @Override
+    public String issuer() {
+        return "삼성증권";
+    }
+
+    @Override
+    public String name() {
+        return "samsung";
+    }
+
+    @Override
+    public List<String> findInitialBasePriceEvaluationDates(ProspectusIndex prospectus) {
+        List<String> result = new ArrayList<>();
+
+        // "최초기준가격 결정일 (예정)"이 포함된 <td>가 있는 표에서
+        for (ProspectusIndex.Table table : prospectus.tablesWithCellContaining(INITIAL_BASE_PRICE_KEYWORD)) {
+            // 각 <td>의 텍스트를 검사하여 날짜 패턴과 일치하는 문자열을 찾기
+            for (String td : table.getTdTexts()) {
+                Matcher matcher = RegexTimeLimiter.matcher(DATE_PATTERN, td);
+                if (matcher.find()) {
+                    // 날짜 문자열을 출력
+                    result.add(matcher.group());
+                    break;
+                }
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public List<String> findMaturityEvaluationDates(ProspectusIndex prospectus) {
+        List<String> result = new ArrayList<>();
+
+        for (ProspectusIndex.Row row : prospectus.getRows()) {
+            List<String> tds = row.getTdTexts();
+            for (int i = 0; i < tds.size() - 1; i++) {
+                if (tds.get(i).contains(MATURITY_KEYWORD)) {
+                    String dates = tds.get(i + 1); // 같은 tr의 다음 td
+                    Matcher matcher = RegexTimeLimiter.matcher(DATE_PATTERN, dates);
+                    if (matcher.find()) {
+                        // 날짜 문자열을 출력
+                        result.add(matcher.group());
+                        break;
+                    }
+                }
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public List<MaturityEvaluationDateType> findMaturityEvaluationDateTypes(ProspectusIndex prospectus) {
+        List<MaturityEvaluationDateType> result = new ArrayList<>();
+
+        for (ProspectusIndex.Row row : prospectus.getRows()) {
+            List<String> tds = row.getTdTexts();
+            for (int i = 0; i < tds.size() - 1; i++) {
+                if (tds.get(i).contains(MATURITY_KEYWORD)) {
+                    int count = countDates(tds.get(i + 1)); // 같은 tr의 다음 td
+
+                    if (count > 1)  result.add(MaturityEvaluationDateType.MULTIPLE);
+                    else if (count == 1) result.add(MaturityEvaluationDateType.SINGLE);
+                    else result.add(MaturityEvaluationDateType.UNKNOWN);
+                }
+            }
+        }
+
+        return result;
+    }
+}
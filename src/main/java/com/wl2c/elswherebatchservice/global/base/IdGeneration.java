@@ -0,0 +1,13 @@
+package com.wl2c.elswherebatchservice.global.base;
+
+/**
+ * 시퀀스로 id 를 발급하는 엔티티의 공통 설정
+ */
+public final class IdGeneration {
+
+    // 시퀀스 한 번 조회로 미리 확보하는 id 개수 (scripts/db 의 시퀀스 초기값도 이 값을 기준으로 함)
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdGeneration() {
+    }
+}
@@ -0,0 +1,27 @@
+package com.wl2c.elswherebatchservice.global.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+@Configuration
+public class HttpClientConfig {
+
+    @Value("${batch.prospectus.http.connect-timeout:5s}")
+    private Duration connectTimeout;
+
+    /**
+     * 투자설명서 조회에 공용으로 사용하는 클라이언트 (커넥션 재사용, 가능하면 HTTP/2)
+     */
+    @Bean
+    public HttpClient prospectusHttpClient() {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(connectTimeout)
+                .build();
+    }
+}
@@ -0,0 +1,49 @@
+package com.wl2c.elswherebatchservice.global.util;
+
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 발행사/투자설명서의 자유 형식 텍스트에 대한 정규식 매칭 시간 제한
+ *
+ * 역추적이 심한 입력 하나가 수집 작업 전체를 멈추지 않도록, 제한 시간이 지나면 매칭을 중단하고 대체값을 사용함
+ */
+@Slf4j
+public final class RegexTimeLimiter {
+
+    public static final Duration DEFAULT_BUDGET = Duration.ofMillis(200);
+
+    private RegexTimeLimiter() {
+    }
+
+    /**
+     * 제한 시간이 지나면 find/matches 등에서 {@link RegexTimeoutException} 을 던지는 Matcher
+     */
+    public static Matcher matcher(Pattern pattern, CharSequence input) {
+        return matcher(pattern, input, DEFAULT_BUDGET);
+    }
+
+    public static Matcher matcher(Pattern pattern, CharSequence input, Duration budget) {
+        return pattern.matcher(new TimeLimitedCharSequence(input, System.nanoTime() + budget.toNanos()));
+    }
+
+    /**
+     * 매칭이 제한 시간을 넘기면 횟수를 기록하고 fallback 을 반환
+     *
+     * @param name 메트릭 태그로 사용할 매칭 이름
+     */
+    public static <T> T orElse(String name, Supplier<T> matching, T fallback) {
+        try {
+            return matching.get();
+        } catch (RegexTimeoutException e) {
+            Metrics.counter("batch.regex.timeouts", "name", name).increment();
+            log.warn(name + " : " + e.getMessage());
+            return fallback;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.wl2c.elswherebatchservice.global.util;
+
+/**
+ * 정규식 매칭이 제한 시간을 넘김
+ */
+public class RegexTimeoutException extends RuntimeException {
+
+    public RegexTimeoutException(int inputLength) {
+        super("Regex matching timed out (input length : " + inputLength + ")");
+    }
+}
@@ -0,0 +1,45 @@
+package com.wl2c.elswherebatchservice.global.util;
+
+/**
+ * 제한 시간이 지나면 charAt 에서 예외를 던지는 CharSequence
+ *
+ * 정규식 엔진은 역추적 중에도 charAt 을 계속 호출하므로, 이를 통해 매칭을 중단시킬 수 있음
+ */
+class TimeLimitedCharSequence implements CharSequence {
+
+    // nanoTime 호출 비용을 줄이기 위해 일정 횟수마다 한 번씩 확인
+    private static final int CHECK_INTERVAL = 1024;
+
+    private final CharSequence delegate;
+    private final long deadline;
+
+    private int accessCount;
+
+    TimeLimitedCharSequence(CharSequence delegate, long deadline) {
+        this.delegate = delegate;
+        this.deadline = deadline;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (++accessCount % CHECK_INTERVAL == 0 && System.nanoTime() - deadline > 0) {
+            throw new RegexTimeoutException(delegate.length());
+        }
+        return delegate.charAt(index);
+    }
+
+    @Override
+    public int length() {
+        return delegate.length();
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return new TimeLimitedCharSequence(delegate.subSequence(start, end), deadline);
+    }
+
+    @Override
+    public String toString() {
+        return delegate.toString();
+    }
+}
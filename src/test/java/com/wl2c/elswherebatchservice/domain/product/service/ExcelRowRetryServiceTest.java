@@ -0,0 +1,181 @@
+package com.wl2c.elswherebatchservice.domain.product.service;
+
+import com.wl2c.elswherebatchservice.domain.product.model.DeadLetterStage;
+import com.wl2c.elswherebatchservice.domain.product.model.ProductState;
+import com.wl2c.elswherebatchservice.domain.product.model.RowProcessingResult;
+import com.wl2c.elswherebatchservice.domain.product.model.dto.PreparedProduct;
+import com.wl2c.elswherebatchservice.domain.product.model.dto.ProductRow;
+import com.wl2c.elswherebatchservice.domain.product.model.entity.ExcelRowDeadLetter;
+import com.wl2c.elswherebatchservice.domain.product.model.entity.Product;
+import com.wl2c.elswherebatchservice.domain.product.repository.ProductRepository;
+import com.wl2c.elswherebatchservice.domain.product.service.excel.ExcelRow;
+import com.wl2c.elswherebatchservice.domain.product.service.excel.ProductRowDecoder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ExcelRowRetryServiceTest {
+
+    private ExcelRowDeadLetterService excelRowDeadLetterService;
+    private ProductRowProcessor productRowProcessor;
+    private ProductRowDecoder productRowDecoder;
+    private ProductWriteJobLock productWriteJobLock;
+    private ExcelRowRetryService excelRowRetryService;
+
+    @BeforeEach
+    void setUp() {
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.findAllProductKeys()).thenReturn(List.of());
+        ExcelFingerprintService excelFingerprintService = mock(ExcelFingerprintService.class);
+        when(excelFingerprintService.loadRowFingerprints()).thenReturn(Map.of());
+
+        excelRowDeadLetterService = mock(ExcelRowDeadLetterService.class);
+        productRowProcessor = mock(ProductRowProcessor.class);
+        when(productRowProcessor.saveTemporaryTickerSymbols(any())).thenReturn(List.of());
+        productRowDecoder = mock(ProductRowDecoder.class);
+        productWriteJobLock = new ProductWriteJobLock();
+
+        excelRowRetryService = new ExcelRowRetryService(
+                productRepository,
+                excelRowDeadLetterService,
+                excelFingerprintService,
+                productRowProcessor,
+                productRowDecoder,
+                productWriteJobLock,
+                new TransactionTemplate(new NoOpTransactionManager()));
+        ReflectionTestUtils.setField(excelRowRetryService, "retryLimit", 20);
+    }
+
+    @Test
+    void resolvesRowThatSucceedsOnRetry() throws IOException {
+        ExcelRowDeadLetter deadLetter = deadLetter(1L);
+        ProductRow productRow = mock(ProductRow.class);
+        PreparedProduct prepared = prepared(productRow);
+        Product product = product();
+        when(productRowDecoder.decode(any(ExcelRow.class))).thenReturn(productRow);
+        when(productRowProcessor.prepare(eq(productRow), any(ProductKeyIndex.class))).thenReturn(prepared);
+        when(productRowProcessor.write(prepared)).thenReturn(product);
+
+        excelRowRetryService.retryFailedRows();
+
+        verify(excelRowDeadLetterService).resolve(1L);
+        verify(excelRowDeadLetterService, never()).retryFailed(anyLong(), any(), any());
+        verify(productRowProcessor).publish(eq(prepared), anyList());
+    }
+
+    @Test
+    void recordsStageWhereRetryFailedAgain() throws IOException {
+        ExcelRowDeadLetter deadLetter = deadLetter(2L);
+        ProductRow productRow = mock(ProductRow.class);
+        IOException failure = new IOException("prospectus unavailable");
+        when(productRowDecoder.decode(any(ExcelRow.class))).thenReturn(productRow);
+        when(productRowProcessor.prepare(eq(productRow), any(ProductKeyIndex.class))).thenThrow(failure);
+
+        excelRowRetryService.retryFailedRows();
+
+        verify(excelRowDeadLetterService).retryFailed(2L, DeadLetterStage.PREPARE, failure);
+        verify(excelRowDeadLetterService, never()).resolve(anyLong());
+    }
+
+    @Test
+    void failedWriteDoesNotStopRemainingRows() throws IOException {
+        ExcelRowDeadLetter broken = deadLetter(3L);
+        ExcelRowDeadLetter healthy = deadLetter(4L);
+        when(excelRowDeadLetterService.findRetryable(anyInt())).thenReturn(List.of(broken, healthy));
+
+        ExcelRow brokenRow = new ExcelRow(3, Map.of());
+        ExcelRow healthyRow = new ExcelRow(4, Map.of());
+        when(excelRowDeadLetterService.toExcelRow(broken)).thenReturn(brokenRow);
+        when(excelRowDeadLetterService.toExcelRow(healthy)).thenReturn(healthyRow);
+
+        ProductRow brokenProductRow = mock(ProductRow.class);
+        ProductRow healthyProductRow = mock(ProductRow.class);
+        PreparedProduct brokenPrepared = prepared(brokenProductRow);
+        PreparedProduct healthyPrepared = prepared(healthyProductRow);
+        Product product = product();
+        when(productRowDecoder.decode(brokenRow)).thenReturn(brokenProductRow);
+        when(productRowDecoder.decode(healthyRow)).thenReturn(healthyProductRow);
+        when(productRowProcessor.prepare(eq(brokenProductRow), any(ProductKeyIndex.class))).thenReturn(brokenPrepared);
+        when(productRowProcessor.prepare(eq(healthyProductRow), any(ProductKeyIndex.class))).thenReturn(healthyPrepared);
+        IllegalStateException failure = new IllegalStateException("duplicate key");
+        when(productRowProcessor.write(brokenPrepared)).thenThrow(failure);
+        when(productRowProcessor.write(healthyPrepared)).thenReturn(product);
+
+        excelRowRetryService.retryFailedRows();
+
+        // 커밋되지 않은 행의 알림은 보내지 않음
+        verify(excelRowDeadLetterService).retryFailed(3L, DeadLetterStage.WRITE, failure);
+        verify(productRowProcessor, never()).publish(eq(brokenPrepared), anyList());
+        verify(excelRowDeadLetterService).resolve(4L);
+        verify(productRowProcessor).publish(eq(healthyPrepared), anyList());
+    }
+
+    @Test
+    void skipsWhileAnotherProductJobIsRunning() {
+        productWriteJobLock.tryAcquire("ingestion");
+
+        excelRowRetryService.retryFailedRows();
+
+        verify(excelRowDeadLetterService, never()).findRetryable(anyInt());
+    }
+
+    private ExcelRowDeadLetter deadLetter(Long id) {
+        ExcelRowDeadLetter deadLetter = mock(ExcelRowDeadLetter.class);
+        when(deadLetter.getId()).thenReturn(id);
+        when(excelRowDeadLetterService.findRetryable(anyInt())).thenReturn(List.of(deadLetter));
+        when(excelRowDeadLetterService.toExcelRow(deadLetter)).thenReturn(new ExcelRow(id.intValue(), Map.of()));
+        return deadLetter;
+    }
+
+    private static PreparedProduct prepared(ProductRow productRow) {
+        PreparedProduct prepared = mock(PreparedProduct.class);
+        when(prepared.getRow()).thenReturn(productRow);
+        when(prepared.getResult()).thenReturn(RowProcessingResult.SAVED);
+        when(prepared.isWritable()).thenReturn(true);
+        return prepared;
+    }
+
+    private static Product product() {
+        Product product = mock(Product.class);
+        when(product.getId()).thenReturn(10L);
+        when(product.getIssuer()).thenReturn("발행회사");
+        when(product.getName()).thenReturn("상품");
+        when(product.getProductState()).thenReturn(ProductState.ACTIVE);
+        return product;
+    }
+
+    private static class NoOpTransactionManager implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.wl2c.elswherebatchservice.domain.product.service;
+
+import com.wl2c.elswherebatchservice.domain.product.model.DeadLetterStage;
+import com.wl2c.elswherebatchservice.domain.product.model.ProductState;
+import com.wl2c.elswherebatchservice.domain.product.model.RowProcessingResult;
+import com.wl2c.elswherebatchservice.domain.product.model.dto.PreparedProduct;
+import com.wl2c.elswherebatchservice.domain.product.model.dto.ProductRow;
+import com.wl2c.elswherebatchservice.domain.product.model.entity.Product;
+import com.wl2c.elswherebatchservice.domain.product.service.excel.ExcelRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProductChunkWriterTest {
+
+    private RecordingTransactionManager transactionManager;
+    private ExcelRowDeadLetterService excelRowDeadLetterService;
+    private ProductRowProcessor productRowProcessor;
+    private ProductChunkWriter productChunkWriter;
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = new RecordingTransactionManager();
+        excelRowDeadLetterService = mock(ExcelRowDeadLetterService.class);
+        productRowProcessor = mock(ProductRowProcessor.class);
+        when(productRowProcessor.saveTemporaryTickerSymbols(any())).thenReturn(List.of());
+        productChunkWriter = new ProductChunkWriter(
+                mock(ExcelFingerprintService.class),
+                excelRowDeadLetterService,
+                productRowProcessor,
+                new TransactionTemplate(transactionManager));
+    }
+
+    @Test
+    void publishesAfterChunkCommit() {
+        PreparedProduct first = prepared("상품1");
+        PreparedProduct second = prepared("상품2");
+        Product firstProduct = product(1L, "상품1");
+        Product secondProduct = product(2L, "상품2");
+        when(productRowProcessor.write(first)).thenReturn(firstProduct);
+        when(productRowProcessor.write(second)).thenReturn(secondProduct);
+
+        // 알림은 커밋된 뒤에만 보냄
+        doAnswer(invocation -> {
+            assertThat(transactionManager.commits).isEqualTo(1);
+            return null;
+        }).when(productRowProcessor).publish(any(), anyList());
+
+        ProductChunk chunk = chunkOf(first, second);
+        ProductKeyIndex productKeyIndex = ProductKeyIndex.of(List.of());
+        int saved = productChunkWriter.write(chunk, new HashMap<>(), productKeyIndex, () -> {});
+
+        assertThat(saved).isEqualTo(2);
+        assertThat(transactionManager.rollbacks).isZero();
+        assertThat(productKeyIndex.size()).isEqualTo(2);
+        verify(productRowProcessor).publish(eq(first), anyList());
+        verify(productRowProcessor).publish(eq(second), anyList());
+        assertThat(chunk.isEmpty()).isTrue();
+    }
+
+    @Test
+    void fallsBackToRowByRowWhenChunkFails() {
+        PreparedProduct first = prepared("상품1");
+        PreparedProduct broken = prepared("상품2");
+        PreparedProduct third = prepared("상품3");
+        Product firstProduct = product(1L, "상품1");
+        Product thirdProduct = product(3L, "상품3");
+        when(productRowProcessor.write(first)).thenReturn(firstProduct);
+        when(productRowProcessor.write(broken)).thenThrow(new IllegalStateException("duplicate key"));
+        when(productRowProcessor.write(third)).thenReturn(thirdProduct);
+
+        int[] checkpoints = {0};
+        ProductKeyIndex productKeyIndex = ProductKeyIndex.of(List.of());
+        int saved = productChunkWriter.write(chunkOf(first, broken, third), new HashMap<>(), productKeyIndex,
+                () -> checkpoints[0]++);
+
+        // 청크 트랜잭션과 실패한 행의 트랜잭션만 롤백되고, 나머지 행과 체크포인트는 각각 커밋됨
+        assertThat(saved).isEqualTo(2);
+        assertThat(transactionManager.rollbacks).isEqualTo(2);
+        assertThat(transactionManager.commits).isEqualTo(3);
+        assertThat(checkpoints[0]).isEqualTo(1);
+        assertThat(productKeyIndex.find("발행회사", "상품1")).isPresent();
+        assertThat(productKeyIndex.find("발행회사", "상품2")).isEmpty();
+        assertThat(productKeyIndex.find("발행회사", "상품3")).isPresent();
+
+        verify(excelRowDeadLetterService).record(any(ExcelRow.class), eq("상품2"), eq(DeadLetterStage.WRITE), any(IllegalStateException.class));
+
+        // 롤백된 청크의 알림은 보내지 않고, 다시 저장된 행만 한 번씩 보냄
+        verify(productRowProcessor, times(1)).publish(eq(first), anyList());
+        verify(productRowProcessor, never()).publish(eq(broken), anyList());
+        verify(productRowProcessor, times(1)).publish(eq(third), anyList());
+    }
+
+    private static ProductChunk chunkOf(PreparedProduct... preparedProducts) {
+        ProductChunk chunk = new ProductChunk(preparedProducts.length, Duration.ofMinutes(1));
+        for (int i = 0; i < preparedProducts.length; i++) {
+            chunk.addPrepared(new ExcelRow(i, Map.of()), preparedProducts[i]);
+        }
+        return chunk;
+    }
+
+    private static PreparedProduct prepared(String name) {
+        ProductRow row = mock(ProductRow.class);
+        when(row.getName()).thenReturn(name);
+
+        PreparedProduct prepared = mock(PreparedProduct.class);
+        when(prepared.getRow()).thenReturn(row);
+        when(prepared.getResult()).thenReturn(RowProcessingResult.SAVED);
+        when(prepared.isWritable()).thenReturn(true);
+        return prepared;
+    }
+
+    private static Product product(Long id, String name) {
+        Product product = mock(Product.class);
+        when(product.getId()).thenReturn(id);
+        when(product.getIssuer()).thenReturn("발행회사");
+        when(product.getName()).thenReturn(name);
+        when(product.getProductState()).thenReturn(ProductState.ACTIVE);
+        return product;
+    }
+
+    private static class RecordingTransactionManager implements PlatformTransactionManager {
+
+        private int commits;
+        private int rollbacks;
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+            commits++;
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+            rollbacks++;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.wl2c.elswherebatchservice.domain.product.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RowWatermarkTest {
+
+    @Test
+    void advancesOnlyOverContiguousRows() {
+        RowWatermark watermark = new RowWatermark(0);
+
+        watermark.complete(2);
+        watermark.complete(4);
+        assertThat(watermark.get()).isZero();
+
+        watermark.complete(1);
+        assertThat(watermark.get()).isEqualTo(2);
+
+        watermark.complete(3);
+        assertThat(watermark.get()).isEqualTo(4);
+    }
+
+    @Test
+    void completesRangeOfSkippedRows() {
+        RowWatermark watermark = new RowWatermark(0);
+
+        // 2 이상 6 미만
+        watermark.complete(2, 6);
+        assertThat(watermark.get()).isZero();
+
+        watermark.complete(1);
+        assertThat(watermark.get()).isEqualTo(5);
+
+        watermark.complete(7, 7);
+        assertThat(watermark.get()).isEqualTo(5);
+    }
+
+    @Test
+    void resumesAfterCheckpoint() {
+        RowWatermark watermark = new RowWatermark(10);
+
+        watermark.complete(12);
+        assertThat(watermark.get()).isEqualTo(10);
+
+        watermark.complete(11);
+        assertThat(watermark.get()).isEqualTo(12);
+    }
+}
@@ -0,0 +1,83 @@
+package com.wl2c.elswherebatchservice.domain.product.service.alias;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AliasTrieTest {
+
+    @Test
+    void findsNormalizedVariants() {
+        AliasTrie<String> trie = new AliasTrie<>();
+        trie.put("삼성전자", "005930");
+
+        assertThat(trie.get("삼성전자")).isEqualTo("005930");
+        assertThat(trie.get("삼성 전자")).isEqualTo("005930");
+        assertThat(trie.get("삼성전자 (보통주)")).isEqualTo("005930");
+        assertThat(trie.get("삼성전자우")).isNull();
+        assertThat(trie.get("삼성")).isNull();
+    }
+
+    @Test
+    void ignoresCaseAndFullWidthCharacters() {
+        AliasTrie<String> trie = new AliasTrie<>();
+        trie.put("S&P500", "SPX");
+
+        assertThat(trie.get("s&p 500")).isEqualTo("SPX");
+        assertThat(trie.get("Ｓ＆Ｐ５００")).isEqualTo("SPX");
+    }
+
+    @Test
+    void keepsFirstRegisteredValue() {
+        AliasTrie<String> trie = new AliasTrie<>();
+
+        assertThat(trie.put("KOSPI200", "first")).isTrue();
+        assertThat(trie.put("kospi 200", "second")).isFalse();
+        assertThat(trie.put("  ", "blank")).isFalse();
+
+        assertThat(trie.get("KOSPI200")).isEqualTo("first");
+        assertThat(trie.size()).isEqualTo(1);
+    }
+
+    @Test
+    void scansLongestAliasAmongOverlappingOnes() {
+        AliasTrie<String> trie = new AliasTrie<>();
+        trie.put("신한", "신한");
+        trie.put("신한투자증권", "신한투자증권");
+        trie.put("KB증권", "KB증권");
+
+        List<String> found = new ArrayList<>();
+        trie.scan("신한투자증권 ELS 1234회", found::add);
+
+        assertThat(found).containsExactly("신한투자증권");
+    }
+
+    @Test
+    void scansSeparateAliasesInOrder() {
+        AliasTrie<String> trie = new AliasTrie<>();
+        trie.put("KOSPI200", "KOSPI200");
+        trie.put("S&P500", "S&P500");
+        trie.put("삼성전자", "삼성전자");
+
+        List<String> found = new ArrayList<>();
+        trie.scan("S&P500 / KOSPI200 / 삼성전자", found::add);
+
+        assertThat(found).containsExactly("S&P500", "KOSPI200", "삼성전자");
+    }
+
+    @Test
+    void scansAliasAddedAfterFirstScan() {
+        AliasTrie<String> trie = new AliasTrie<>();
+        trie.put("KOSPI200", "KOSPI200");
+        trie.scan("EUROSTOXX50", value -> {});
+
+        trie.put("EUROSTOXX50", "EUROSTOXX50");
+        List<String> found = new ArrayList<>();
+        trie.scan("EUROSTOXX50", found::add);
+
+        assertThat(found).containsExactly("EUROSTOXX50");
+    }
+}
@@ -0,0 +1,44 @@
+package com.wl2c.elswherebatchservice.domain.product.service.alias;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IssuerDictionaryTest {
+
+    private IssuerDictionary issuerDictionary;
+
+    @BeforeEach
+    void setUp() {
+        issuerDictionary = new IssuerDictionary();
+        ReflectionTestUtils.setField(issuerDictionary, "issuers", List.of("신한투자증권", "한국투자증권", "신한"));
+        ReflectionTestUtils.setField(issuerDictionary, "issuerAliases", List.of("한투=한국투자증권", "없는별칭=없는증권사"));
+        issuerDictionary.init();
+    }
+
+    @Test
+    void findsIssuerContainedInProductName() {
+        assertThat(issuerDictionary.findIssuer("한국투자증권 ELS 1234회")).isEqualTo("한국투자증권");
+        assertThat(issuerDictionary.findIssuer("한국 투자 증권 ELS 1234회")).isEqualTo("한국투자증권");
+    }
+
+    @Test
+    void prefersIssuerListedFirst() {
+        assertThat(issuerDictionary.findIssuer("신한투자증권 ELS 1234회")).isEqualTo("신한투자증권");
+    }
+
+    @Test
+    void resolvesAliasToIssuer() {
+        assertThat(issuerDictionary.findIssuer("한투 ELS 1234회")).isEqualTo("한국투자증권");
+    }
+
+    @Test
+    void returnsNullForUnknownIssuer() {
+        assertThat(issuerDictionary.findIssuer("없는별칭 ELS 1234회")).isNull();
+        assertThat(issuerDictionary.findIssuer("KB증권 ELS 1234회")).isNull();
+    }
+}
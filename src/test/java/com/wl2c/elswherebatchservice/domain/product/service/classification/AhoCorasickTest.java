@@ -0,0 +1,44 @@
+package com.wl2c.elswherebatchservice.domain.product.service.classification;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AhoCorasickTest {
+
+    @Test
+    void findsOverlappingKeywords() {
+        List<String> keywords = List.of("he", "she", "his", "hers");
+
+        assertThat(scan(keywords, "ushers")).containsExactlyInAnyOrder("she@1", "he@2", "hers@2");
+    }
+
+    @Test
+    void findsKeywordContainedInAnotherKeyword() {
+        List<String> keywords = List.of("월지급", "지급", "스텝다운");
+
+        assertThat(scan(keywords, "월지급식 스텝다운")).containsExactlyInAnyOrder("월지급@0", "지급@1", "스텝다운@5");
+    }
+
+    @Test
+    void findsNothingWithoutKeywords() {
+        assertThat(scan(List.of("KI"), "노낙인")).isEmpty();
+        assertThat(scan(List.of(), "KI45")).isEmpty();
+    }
+
+    @Test
+    void rejectsEmptyKeyword() {
+        assertThatThrownBy(() -> new AhoCorasick(List.of("")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<String> scan(List<String> keywords, String text) {
+        List<String> matches = new ArrayList<>();
+        new AhoCorasick(keywords).scan(text, (keywordId, start) -> matches.add(keywords.get(keywordId) + "@" + start));
+        return matches;
+    }
+}
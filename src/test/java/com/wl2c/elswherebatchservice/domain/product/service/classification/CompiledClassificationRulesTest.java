@@ -0,0 +1,95 @@
+package com.wl2c.elswherebatchservice.domain.product.service.classification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wl2c.elswherebatchservice.domain.product.model.ProductType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 기본 판별 규칙(classification-rules.json)으로 판별
+ */
+class CompiledClassificationRulesTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private CompiledClassificationRules rules;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        meterRegistry = new SimpleMeterRegistry();
+        try (InputStream inputStream = new ClassPathResource("classification-rules.json").getInputStream()) {
+            rules = CompiledClassificationRules.compile(new ObjectMapper().readValue(inputStream, ClassificationRules.class), meterRegistry);
+        }
+    }
+
+    @Test
+    void findsKnockInBarrier() {
+        assertThat(knockIn("KI45")).isEqualTo(45);
+        assertThat(knockIn("90-85-80-75/45KI")).isEqualTo(45);
+        assertThat(knockIn("(3Y/6M) KI 50%")).isEqualTo(50);
+        assertThat(knockIn("90-85-80/50")).isEqualTo(50);
+    }
+
+    @Test
+    void returnsNullWithoutKnockIn() {
+        assertThat(knockIn("노낙인")).isNull();
+        assertThat(knockIn("95-90-85/noKI")).isNull();
+        assertThat(knockIn("월지급식")).isNull();
+    }
+
+    @Test
+    void appliesIssuerRulesInOrder() {
+        assertThat(productType("NH투자증권", "90-85-80/50KI")).isEqualTo(ProductType.STEP_DOWN);
+        assertThat(productType("NH투자증권", "(월지급) 쿠폰베리어 70")).isEqualTo(ProductType.MONTHLY_PAYMENT);
+
+        // 괄호가 있으면 스텝다운 정규식보다 기타 규칙이 먼저 적용됨
+        assertThat(productType("NH투자증권", "(3년) 90-85-80/50KI")).isEqualTo(ProductType.ETC);
+
+        assertThat(meterRegistry.counter("batch.classification.rules", "rule", "nh.step-down").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void usesDefaultRulesForOtherIssuers() {
+        assertThat(productType("삼성증권", "LizardStepDown")).isEqualTo(ProductType.LIZARD);
+        assertThat(productType("삼성증권", "3Y/6M StepDown")).isEqualTo(ProductType.STEP_DOWN);
+        assertThat(productType(null, "월지급식")).isEqualTo(ProductType.MONTHLY_PAYMENT);
+        assertThat(productType("삼성증권", "원금보장형")).isEqualTo(ProductType.ETC);
+    }
+
+    @Test
+    void matchesWordStartKeywordsOnlyAtWordStart() {
+        assertThat(productType("삼성증권", "UltraStepDown")).isEqualTo(ProductType.ETC);
+    }
+
+    @Test
+    void excludesPatternWhenAllExcludedKeywordsFound() {
+        assertThat(productType("삼성증권", "90-85-80 / KI45")).isEqualTo(ProductType.STEP_DOWN);
+        assertThat(productType("삼성증권", "90-85-80 / KI45 Ultra Safezone Power")).isEqualTo(ProductType.ETC);
+    }
+
+    @Test
+    void rejectsUnknownProductType() {
+        ClassificationRules.Rule rule = new ClassificationRules.Rule("bad", List.of("x"), false, null, null, null, "NOT_A_TYPE");
+        ClassificationRules invalid = new ClassificationRules(
+                List.of(), List.of(new ClassificationRules.IssuerRules(List.of(), List.of(rule))), null);
+
+        assertThatThrownBy(() -> CompiledClassificationRules.compile(invalid, meterRegistry))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Integer knockIn(String text) {
+        return rules.findKnockIn(rules.scan(text), text);
+    }
+
+    private ProductType productType(String issuer, String text) {
+        return rules.findProductType(issuer, rules.scan(text), text);
+    }
+}
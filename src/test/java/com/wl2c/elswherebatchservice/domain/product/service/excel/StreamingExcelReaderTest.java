@@ -0,0 +1,82 @@
+package com.wl2c.elswherebatchservice.domain.product.service.excel;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StreamingExcelReaderTest {
+
+    private final StreamingExcelReader streamingExcelReader = new StreamingExcelReader();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void readsOnlyFirstSheetOfXls() throws IOException {
+        File file = write(new HSSFWorkbook(), "products.xls");
+
+        List<ExcelRow> rows = readAll(file);
+
+        assertThat(rows).extracting(row -> row.getString(0)).containsExactly("발행회사", "A증권");
+        assertThat(rows.get(1).getNumeric(1)).isEqualByComparingTo("12.5");
+    }
+
+    @Test
+    void readsOnlyFirstSheetOfXlsx() throws IOException {
+        File file = write(new XSSFWorkbook(), "products.xlsx");
+
+        List<ExcelRow> rows = readAll(file);
+
+        assertThat(rows).extracting(row -> row.getString(0)).containsExactly("발행회사", "A증권");
+    }
+
+    @Test
+    void rejectsUnsupportedFormat() throws IOException {
+        File file = Files.writeString(tempDir.resolve("products.csv"), "발행회사,수익률").toFile();
+
+        // 읽은 것으로 처리되면 안 되므로 예외를 던짐
+        assertThatThrownBy(() -> readAll(file)).isInstanceOf(IOException.class);
+    }
+
+    private List<ExcelRow> readAll(File file) throws IOException {
+        List<ExcelRow> rows = new ArrayList<>();
+        streamingExcelReader.read(file, rows::add);
+        return rows;
+    }
+
+    private File write(Workbook workbook, String fileName) throws IOException {
+        try (workbook) {
+            Sheet first = workbook.createSheet("상품");
+            Row header = first.createRow(0);
+            header.createCell(0).setCellValue("발행회사");
+            header.createCell(1).setCellValue("수익률");
+            Row row = first.createRow(1);
+            row.createCell(0).setCellValue("A증권");
+            row.createCell(1).setCellValue(12.5);
+
+            Sheet second = workbook.createSheet("기타");
+            second.createRow(0).createCell(0).setCellValue("다른 시트");
+
+            Path path = tempDir.resolve(fileName);
+            try (OutputStream outputStream = Files.newOutputStream(path)) {
+                workbook.write(outputStream);
+            }
+            return path.toFile();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.wl2c.elswherebatchservice.domain.product.service.prospectus;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final Duration TARGET_LATENCY = Duration.ofSeconds(1);
+    private static final Duration FAST = Duration.ofMillis(10);
+
+    @Test
+    void growsGraduallyOnSuccess() throws InterruptedIOException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 8, TARGET_LATENCY);
+
+        // 성공마다 1 / 제한 만큼 늘어남 (2 -> 2.5 -> 2.9 -> 3.24)
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire();
+            limiter.release(false, FAST);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(3);
+    }
+
+    @Test
+    void halvesOnErrorOrSlowResponse() throws InterruptedIOException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 1, 8, TARGET_LATENCY);
+
+        limiter.acquire();
+        limiter.release(true, FAST);
+        assertThat(limiter.getLimit()).isEqualTo(4);
+
+        limiter.acquire();
+        limiter.release(false, Duration.ofSeconds(2));
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void staysWithinBounds() throws InterruptedIOException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 2, TARGET_LATENCY);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire();
+            limiter.release(false, FAST);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(2);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire();
+            limiter.release(true, FAST);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(1);
+    }
+
+    @Test
+    void blocksUntilPermitIsReleased() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, TARGET_LATENCY);
+        limiter.acquire();
+
+        CountDownLatch acquired = new CountDownLatch(1);
+        Thread waiter = new Thread(() -> {
+            try {
+                limiter.acquire();
+                acquired.countDown();
+            } catch (InterruptedIOException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        waiter.start();
+
+        assertThat(acquired.await(100, TimeUnit.MILLISECONDS)).isFalse();
+        limiter.cancel();
+        assertThat(acquired.await(1, TimeUnit.SECONDS)).isTrue();
+        waiter.join();
+    }
+
+    @Test
+    void cancelDoesNotChangeLimit() throws InterruptedIOException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 8, TARGET_LATENCY);
+
+        limiter.acquire();
+        limiter.cancel();
+        assertThat(limiter.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void throwsWhenInterruptedWhileWaiting() throws InterruptedIOException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, TARGET_LATENCY);
+        limiter.acquire();
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThatThrownBy(limiter::acquire).isInstanceOf(InterruptedIOException.class);
+        } finally {
+            Thread.interrupted();
+        }
+    }
+}
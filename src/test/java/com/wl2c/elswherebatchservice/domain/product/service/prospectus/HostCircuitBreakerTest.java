@@ -0,0 +1,118 @@
+package com.wl2c.elswherebatchservice.domain.product.service.prospectus;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HostCircuitBreakerTest {
+
+    private static final Duration FAST = Duration.ofMillis(10);
+
+    @Test
+    void staysClosedBelowMinimumCalls() {
+        HostCircuitBreaker circuitBreaker = newCircuitBreaker(Duration.ofMinutes(1));
+
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.record(true, FAST);
+        }
+        assertThat(circuitBreaker.getState()).isEqualTo(HostCircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void opensWhenFailureRateReachesThreshold() {
+        HostCircuitBreaker circuitBreaker = newCircuitBreaker(Duration.ofMinutes(1));
+
+        circuitBreaker.record(false, FAST);
+        circuitBreaker.record(false, FAST);
+        circuitBreaker.record(true, FAST);
+        assertThat(circuitBreaker.getState()).isEqualTo(HostCircuitBreaker.State.CLOSED);
+
+        circuitBreaker.record(true, FAST);
+        assertThat(circuitBreaker.getState()).isEqualTo(HostCircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.isCallPermitted()).isFalse();
+        assertThat(circuitBreaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void countsSlowCallsAsFailures() {
+        HostCircuitBreaker circuitBreaker = newCircuitBreaker(Duration.ofMinutes(1));
+
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.record(false, Duration.ofSeconds(2));
+        }
+        assertThat(circuitBreaker.getState()).isEqualTo(HostCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void oldResultsLeaveTheWindow() {
+        HostCircuitBreaker circuitBreaker = newCircuitBreaker(Duration.ofMinutes(1));
+
+        circuitBreaker.record(true, FAST);
+        for (int i = 0; i < 7; i++) {
+            circuitBreaker.record(false, FAST);
+        }
+        // 창 크기가 4 이므로 처음의 실패는 빠지고, 실패 2 / 4 에서 열림
+        circuitBreaker.record(true, FAST);
+        assertThat(circuitBreaker.getState()).isEqualTo(HostCircuitBreaker.State.CLOSED);
+        circuitBreaker.record(true, FAST);
+        assertThat(circuitBreaker.getState()).isEqualTo(HostCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void allowsSingleTrialAfterOpenDuration() throws InterruptedException {
+        HostCircuitBreaker circuitBreaker = openedCircuitBreaker();
+        Thread.sleep(60);
+
+        assertThat(circuitBreaker.isCallPermitted()).isTrue();
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+        assertThat(circuitBreaker.getState()).isEqualTo(HostCircuitBreaker.State.HALF_OPEN);
+
+        // 시험 요청의 결과가 나오기 전에는 다른 요청을 보내지 않음
+        assertThat(circuitBreaker.isCallPermitted()).isFalse();
+        assertThat(circuitBreaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void closesWhenTrialSucceeds() throws InterruptedException {
+        HostCircuitBreaker circuitBreaker = openedCircuitBreaker();
+        Thread.sleep(60);
+        circuitBreaker.tryAcquire();
+
+        circuitBreaker.record(false, FAST);
+        assertThat(circuitBreaker.getState()).isEqualTo(HostCircuitBreaker.State.CLOSED);
+
+        // 닫히면 이전 실패 기록은 지워짐
+        circuitBreaker.record(true, FAST);
+        circuitBreaker.record(true, FAST);
+        circuitBreaker.record(true, FAST);
+        assertThat(circuitBreaker.getState()).isEqualTo(HostCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void reopensWhenTrialFails() throws InterruptedException {
+        HostCircuitBreaker circuitBreaker = openedCircuitBreaker();
+        Thread.sleep(60);
+        circuitBreaker.tryAcquire();
+
+        circuitBreaker.record(true, FAST);
+        assertThat(circuitBreaker.getState()).isEqualTo(HostCircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquire()).isFalse();
+    }
+
+    private static HostCircuitBreaker openedCircuitBreaker() {
+        HostCircuitBreaker circuitBreaker = newCircuitBreaker(Duration.ofMillis(50));
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.record(true, FAST);
+        }
+        assertThat(circuitBreaker.getState()).isEqualTo(HostCircuitBreaker.State.OPEN);
+        return circuitBreaker;
+    }
+
+    // 창 4 개, 최소 4 번 호출, 실패율 50%, 1초 넘으면 느린 응답
+    private static HostCircuitBreaker newCircuitBreaker(Duration openDuration) {
+        return new HostCircuitBreaker(4, 4, 0.5, Duration.ofSeconds(1), openDuration);
+    }
+}
@@ -0,0 +1,60 @@
+package com.wl2c.elswherebatchservice.domain.product.service.prospectus;
+
+import com.wl2c.elswherebatchservice.domain.product.service.ParsingProspectusService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jsoup.Jsoup;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProspectusDocumentCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ParsingProspectusService parsingProspectusService;
+    private ProspectusDocumentCache prospectusDocumentCache;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        meterRegistry = new SimpleMeterRegistry();
+        parsingProspectusService = mock(ParsingProspectusService.class);
+        when(parsingProspectusService.fetchDocument(anyString())).thenAnswer(invocation -> Jsoup.parse("<p>만기평가일</p>"));
+
+        prospectusDocumentCache = new ProspectusDocumentCache(parsingProspectusService, meterRegistry);
+        ReflectionTestUtils.setField(prospectusDocumentCache, "cacheSize", 2);
+        ReflectionTestUtils.setField(prospectusDocumentCache, "fetchConcurrency", 2);
+    }
+
+    @Test
+    void reusesDocumentForSameLink() throws IOException {
+        ProspectusIndex first = prospectusDocumentCache.get("https://example.com/a");
+        ProspectusIndex second = prospectusDocumentCache.get("https://example.com/a");
+
+        assertThat(second).isSameAs(first);
+        verify(parsingProspectusService, times(1)).fetchDocument("https://example.com/a");
+        assertThat(meterRegistry.counter("batch.prospectus.cache", "result", "miss").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("batch.prospectus.cache", "result", "hit").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void keepsAtLeastTwiceFetchConcurrency() throws IOException {
+        // cache-size 는 2 지만 조회 스레드가 2 개이므로 4 개까지 유지
+        for (String link : new String[]{"a", "b", "c", "d", "a"}) {
+            prospectusDocumentCache.get("https://example.com/" + link);
+        }
+        verify(parsingProspectusService, times(1)).fetchDocument("https://example.com/a");
+
+        prospectusDocumentCache.get("https://example.com/e");
+        prospectusDocumentCache.get("https://example.com/f");
+        prospectusDocumentCache.get("https://example.com/b");
+        verify(parsingProspectusService, times(2)).fetchDocument("https://example.com/b");
+    }
+}
@@ -0,0 +1,285 @@
+package com.wl2c.elswherebatchservice.domain.product.service.prospectus;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import com.wl2c.elswherebatchservice.global.config.HttpClientConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jsoup.HttpStatusException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 로컬 HTTP 서버를 상대로 재시도, 압축 해제, 조건부 요청, 커넥션 재사용, 본문 제한 시간을 확인
+ */
+class ProspectusFetcherTest {
+
+    private static final String DOCUMENT = "<html><body><p>만기평가일</p></body></html>";
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private SimpleMeterRegistry meterRegistry;
+    private ProspectusFetcher prospectusFetcher;
+
+    // 요청을 보낸 클라이언트 포트 (커넥션마다 다름)
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        // 본문을 보내다 멈춘 요청이 다음 요청을 막지 않도록 요청마다 스레드를 사용
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        meterRegistry = new SimpleMeterRegistry();
+
+        ProspectusHostGuard prospectusHostGuard = new ProspectusHostGuard(meterRegistry);
+        ReflectionTestUtils.setField(prospectusHostGuard, "windowSize", 20);
+        ReflectionTestUtils.setField(prospectusHostGuard, "minimumCalls", 10);
+        ReflectionTestUtils.setField(prospectusHostGuard, "failureRateThreshold", 0.5);
+        ReflectionTestUtils.setField(prospectusHostGuard, "slowCallThreshold", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(prospectusHostGuard, "openDuration", Duration.ofSeconds(60));
+        ReflectionTestUtils.setField(prospectusHostGuard, "ratePerSecond", 1000.0);
+        ReflectionTestUtils.setField(prospectusHostGuard, "burst", 100);
+        ReflectionTestUtils.setField(prospectusHostGuard, "initialLimit", 2);
+        ReflectionTestUtils.setField(prospectusHostGuard, "maxLimit", 8);
+        ReflectionTestUtils.setField(prospectusHostGuard, "targetLatency", Duration.ofSeconds(2));
+
+        HttpClientConfig httpClientConfig = new HttpClientConfig();
+        ReflectionTestUtils.setField(httpClientConfig, "connectTimeout", Duration.ofSeconds(5));
+
+        prospectusFetcher = new ProspectusFetcher(httpClientConfig.prospectusHttpClient(), prospectusHostGuard, meterRegistry);
+        ReflectionTestUtils.setField(prospectusFetcher, "requestTimeout", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(prospectusFetcher, "bodyTimeout", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(prospectusFetcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(prospectusFetcher, "initialBackoff", Duration.ofMillis(10));
+        ReflectionTestUtils.setField(prospectusFetcher, "maxBackoff", Duration.ofSeconds(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        prospectusFetcher.shutdown();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void waitsForRetryAfterOnServiceUnavailable() throws IOException {
+        AtomicInteger requests = new AtomicInteger();
+        String url = serve("/retry-after", exchange -> {
+            if (requests.incrementAndGet() == 1) {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                respond(exchange, 503, "busy".getBytes(StandardCharsets.UTF_8));
+            } else {
+                respond(exchange, 200, DOCUMENT.getBytes(StandardCharsets.UTF_8));
+            }
+        });
+
+        long startedAt = System.nanoTime();
+        assertThat(prospectusFetcher.fetch(url, null, null, ProspectusFetcherTest::readUtf8)).isEqualTo(DOCUMENT);
+
+        // 지수 백오프(최대 10ms) 대신 Retry-After 만큼 기다림
+        assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isGreaterThanOrEqualTo(Duration.ofSeconds(1));
+        assertThat(requests).hasValue(2);
+        assertThat(meterRegistry.counter("batch.prospectus.http.retries").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void retriesTooManyRequestsWithBackoff() throws IOException {
+        AtomicInteger requests = new AtomicInteger();
+        String url = serve("/throttled", exchange -> {
+            if (requests.incrementAndGet() < 3) {
+                respond(exchange, 429, "slow down".getBytes(StandardCharsets.UTF_8));
+            } else {
+                respond(exchange, 200, DOCUMENT.getBytes(StandardCharsets.UTF_8));
+            }
+        });
+
+        assertThat(prospectusFetcher.fetch(url, null, null, ProspectusFetcher.Response::statusCode)).isEqualTo(200);
+        assertThat(requests).hasValue(3);
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() {
+        AtomicInteger requests = new AtomicInteger();
+        String url = serve("/down", exchange -> {
+            requests.incrementAndGet();
+            respond(exchange, 500, "error".getBytes(StandardCharsets.UTF_8));
+        });
+
+        assertThatThrownBy(() -> prospectusFetcher.fetch(url, null, null, ProspectusFetcherTest::readUtf8))
+                .isInstanceOfSatisfying(HttpStatusException.class, e -> assertThat(e.getStatusCode()).isEqualTo(500));
+        assertThat(requests).hasValue(3);
+    }
+
+    @Test
+    void doesNotRetryClientErrors() {
+        AtomicInteger requests = new AtomicInteger();
+        String url = serve("/missing", exchange -> {
+            requests.incrementAndGet();
+            respond(exchange, 404, "not found".getBytes(StandardCharsets.UTF_8));
+        });
+
+        assertThatThrownBy(() -> prospectusFetcher.fetch(url, null, null, ProspectusFetcherTest::readUtf8))
+                .isInstanceOfSatisfying(HttpStatusException.class, e -> assertThat(e.getStatusCode()).isEqualTo(404));
+        assertThat(requests).hasValue(1);
+    }
+
+    @Test
+    void decompressesGzipBody() throws IOException {
+        Charset eucKr = Charset.forName("EUC-KR");
+        AtomicReference<String> acceptEncoding = new AtomicReference<>();
+        String url = serve("/gzip", exchange -> {
+            acceptEncoding.set(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            exchange.getResponseHeaders().set("Content-Type", "text/html; charset=EUC-KR");
+            exchange.getResponseHeaders().set("ETag", "\"v1\"");
+            respond(exchange, 200, gzip(DOCUMENT.getBytes(eucKr)));
+        });
+
+        prospectusFetcher.fetch(url, null, null, response -> {
+            assertThat(response.charset()).isEqualTo("EUC-KR");
+            assertThat(response.etag()).isEqualTo("\"v1\"");
+            assertThat(new String(response.body().readAllBytes(), eucKr)).isEqualTo(DOCUMENT);
+            return null;
+        });
+        assertThat(acceptEncoding.get()).contains("gzip");
+    }
+
+    @Test
+    void returnsNotModifiedForMatchingEtag() throws IOException {
+        String url = serve("/conditional", exchange -> {
+            if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                respond(exchange, 200, DOCUMENT.getBytes(StandardCharsets.UTF_8));
+            }
+        });
+
+        prospectusFetcher.fetch(url, "\"v1\"", null, response -> {
+            assertThat(response.isNotModified()).isTrue();
+            assertThat(response.body()).isNull();
+            return null;
+        });
+        assertThat(prospectusFetcher.fetch(url, "\"v0\"", null, ProspectusFetcher.Response::isNotModified)).isFalse();
+    }
+
+    @Test
+    void reusesConnectionForSameHost() throws IOException {
+        String plainUrl = serve("/plain", exchange -> respond(exchange, 200, DOCUMENT.getBytes(StandardCharsets.UTF_8)));
+        String gzipUrl = serve("/compressed", exchange -> {
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            respond(exchange, 200, gzip(DOCUMENT.getBytes(StandardCharsets.UTF_8)));
+        });
+
+        for (String url : new String[]{plainUrl, gzipUrl, plainUrl, gzipUrl}) {
+            prospectusFetcher.fetch(url, null, null, ProspectusFetcherTest::readUtf8);
+        }
+        assertThat(clientPorts).hasSize(1);
+    }
+
+    @Test
+    void retriesWhenBodyIsCutOff() throws IOException {
+        AtomicInteger requests = new AtomicInteger();
+        String url = serve("/reset", exchange -> {
+            byte[] body = DOCUMENT.getBytes(StandardCharsets.UTF_8);
+            if (requests.incrementAndGet() == 1) {
+                // 본문 길이보다 적게 보내고 닫으면 서버가 커넥션을 끊음
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body, 0, 10);
+                exchange.getResponseBody().flush();
+                return;
+            }
+            respond(exchange, 200, body);
+        });
+
+        assertThat(prospectusFetcher.fetch(url, null, null, ProspectusFetcherTest::readUtf8)).isEqualTo(DOCUMENT);
+        assertThat(requests).hasValue(2);
+        assertThat(meterRegistry.counter("batch.prospectus.http.retries").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void abortsStalledBody() {
+        CountDownLatch release = new CountDownLatch(1);
+        String url = serve("/stalled", exchange -> {
+            byte[] body = DOCUMENT.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body, 0, 10);
+            exchange.getResponseBody().flush();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        long startedAt = System.nanoTime();
+        try {
+            assertThatThrownBy(() -> prospectusFetcher.fetch(url, null, null, ProspectusFetcherTest::readUtf8))
+                    .isInstanceOf(HttpTimeoutException.class);
+        } finally {
+            release.countDown();
+        }
+
+        // 본문 제한 시간(1초) 마다 한 번씩 시도
+        assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isLessThan(Duration.ofSeconds(8));
+        assertThat(meterRegistry.counter("batch.prospectus.http.retries").count()).isEqualTo(2.0);
+    }
+
+    private String serve(String path, HttpHandler handler) {
+        server.createContext(path, exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            try {
+                handler.handle(exchange);
+            } finally {
+                exchange.close();
+            }
+        });
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + path;
+    }
+
+    // 본문 길이를 알려야 클라이언트가 커넥션을 재사용할 수 있음
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+
+    private static String readUtf8(ProspectusFetcher.Response response) throws IOException {
+        return new String(response.body().readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream outputStream = new GZIPOutputStream(compressed)) {
+            outputStream.write(body);
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -0,0 +1,75 @@
+package com.wl2c.elswherebatchservice.domain.product.service.prospectus;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProspectusHostGuardTest {
+
+    private static final String URL = "https://dart.example.com/report.html";
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProspectusHostGuard prospectusHostGuard;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        prospectusHostGuard = new ProspectusHostGuard(meterRegistry);
+        ReflectionTestUtils.setField(prospectusHostGuard, "windowSize", 4);
+        ReflectionTestUtils.setField(prospectusHostGuard, "minimumCalls", 4);
+        ReflectionTestUtils.setField(prospectusHostGuard, "failureRateThreshold", 0.5);
+        ReflectionTestUtils.setField(prospectusHostGuard, "slowCallThreshold", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(prospectusHostGuard, "openDuration", Duration.ofMillis(50));
+        ReflectionTestUtils.setField(prospectusHostGuard, "ratePerSecond", 1000.0);
+        ReflectionTestUtils.setField(prospectusHostGuard, "burst", 100);
+        ReflectionTestUtils.setField(prospectusHostGuard, "initialLimit", 4);
+        ReflectionTestUtils.setField(prospectusHostGuard, "maxLimit", 8);
+        ReflectionTestUtils.setField(prospectusHostGuard, "targetLatency", Duration.ofSeconds(2));
+    }
+
+    @Test
+    void rejectsWhileCircuitIsOpen() throws IOException {
+        ReflectionTestUtils.setField(prospectusHostGuard, "openDuration", Duration.ofMinutes(1));
+        openCircuit();
+
+        assertThatThrownBy(() -> prospectusHostGuard.acquire(URL)).isInstanceOf(CircuitOpenException.class);
+        assertThat(meterRegistry.counter("batch.prospectus.circuit.rejected", "host", "dart.example.com").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void interruptedTrialDoesNotLeaveCircuitHalfOpen() throws Exception {
+        openCircuit();
+        Thread.sleep(60);
+
+        // 시험 요청이 허가를 기다리다 중단되어도 시험 요청 자리는 남아 있어야 함
+        Thread.currentThread().interrupt();
+        try {
+            assertThatThrownBy(() -> prospectusHostGuard.acquire(URL)).isInstanceOf(InterruptedIOException.class);
+        } finally {
+            Thread.interrupted();
+        }
+
+        ProspectusHostGuard.Permit trial = prospectusHostGuard.acquire(URL);
+        trial.success();
+        prospectusHostGuard.acquire(URL).success();
+    }
+
+    // 허가 4 개를 모두 실패로 돌려주면 서킷이 열림
+    private void openCircuit() throws IOException {
+        ProspectusHostGuard.Permit[] permits = new ProspectusHostGuard.Permit[4];
+        for (int i = 0; i < permits.length; i++) {
+            permits[i] = prospectusHostGuard.acquire(URL);
+        }
+        for (ProspectusHostGuard.Permit permit : permits) {
+            permit.failure();
+        }
+    }
+}
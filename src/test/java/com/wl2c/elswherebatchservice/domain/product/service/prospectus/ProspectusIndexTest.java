@@ -0,0 +1,80 @@
+package com.wl2c.elswherebatchservice.domain.product.service.prospectus;
+
+import org.jsoup.Jsoup;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProspectusIndexTest {
+
+    private final ProspectusIndex prospectus = ProspectusIndex.of(Jsoup.parse(
+            "<p>최초기준가격평가일</p><table><tr><td>만기평가일</td></tr></table>"));
+
+    @Test
+    void extractsSameKeyOnceWhileOthersWait() throws Exception {
+        AtomicInteger extractions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> first = executor.submit(() -> prospectus.memoize("volatilities", () -> {
+                extractions.incrementAndGet();
+                started.countDown();
+                await(release);
+                return "20%";
+            }));
+            started.await(5, TimeUnit.SECONDS);
+            Future<String> second = executor.submit(() -> prospectus.memoize("volatilities", () -> {
+                extractions.incrementAndGet();
+                return "다시 추출";
+            }));
+
+            // 다른 항목은 진행 중인 추출을 기다리지 않음
+            assertThat(prospectus.<String>memoize("location:1", () -> "1")).isEqualTo("1");
+
+            release.countDown();
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("20%");
+            assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("20%");
+            assertThat(extractions.get()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void allowsNestedExtractionOfOtherKeys() {
+        String result = prospectus.memoize("extraction:A:1", () ->
+                prospectus.memoize("location:1", () -> "위치") + " 추출");
+
+        assertThat(result).isEqualTo("위치 추출");
+        assertThat(prospectus.<String>memoize("location:1", () -> "다시 추출")).isEqualTo("위치");
+    }
+
+    @Test
+    void keepsNullButNotFailures() {
+        assertThat(prospectus.<String>memoize("earlyRepaymentEvaluationDates", () -> null)).isNull();
+        assertThat(prospectus.<String>memoize("earlyRepaymentEvaluationDates", () -> "다시 추출")).isNull();
+
+        assertThatThrownBy(() -> prospectus.memoize("volatilities", () -> {
+            throw new IllegalStateException("regex timeout");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(prospectus.<String>memoize("volatilities", () -> "20%")).isEqualTo("20%");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.wl2c.elswherebatchservice.domain.product.service.prospectus;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProspectusStreamParserTest {
+
+    private static final String URL = "https://example.com/prospectus.html";
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProspectusStreamParser prospectusStreamParser;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        prospectusStreamParser = new ProspectusStreamParser(meterRegistry);
+        ReflectionTestUtils.setField(prospectusStreamParser, "maxParseSize", DataSize.ofMegabytes(1));
+        ReflectionTestUtils.setField(prospectusStreamParser, "requiredKeywords", List.of("최초기준가격", "만기"));
+        ReflectionTestUtils.setField(prospectusStreamParser, "stopMarkers", List.of("발행인에 관한 사항"));
+    }
+
+    @Test
+    void stopsAtMarkerAfterRequiredKeywords() throws IOException {
+        String html = "<html><body>"
+                + "<p>최초기준가격평가일</p><p>만기평가일</p>"
+                + "<p>발행인에 관한 사항</p>"
+                + "<p>재무제표</p>"
+                + "</body></html>";
+
+        ProspectusStreamParser.Parsed parsed = parse(html.getBytes(StandardCharsets.UTF_8), "UTF-8");
+
+        // 종료 표지에서 멈춘 문서는 재검증에는 쓸 수 없지만 추출에는 그대로 사용함
+        assertThat(parsed.complete()).isFalse();
+        assertThat(parsed.truncated()).isFalse();
+        assertThat(parsed.document().text()).contains("만기평가일");
+        assertThat(meterRegistry.counter("batch.prospectus.parse", "stop", "marker").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void ignoresMarkerBeforeRequiredKeywords() throws IOException {
+        String html = "<html><body>"
+                + "<p>발행인에 관한 사항</p>"
+                + "<p>최초기준가격평가일</p><p>만기평가일</p>"
+                + "</body></html>";
+        byte[] body = html.getBytes(StandardCharsets.UTF_8);
+
+        ProspectusStreamParser.Parsed parsed = parse(body, "UTF-8");
+
+        assertThat(parsed.complete()).isTrue();
+        assertThat(parsed.truncated()).isFalse();
+        assertThat(parsed.body()).isEqualTo(body);
+        assertThat(parsed.document().text()).contains("만기평가일");
+    }
+
+    @Test
+    void documentOfExactlyMaxSizeIsNotTruncated() throws IOException {
+        byte[] body = "<html><body><p>최초기준가격</p></body></html>".getBytes(StandardCharsets.UTF_8);
+        ReflectionTestUtils.setField(prospectusStreamParser, "maxParseSize", DataSize.ofBytes(body.length));
+
+        ProspectusStreamParser.Parsed parsed = parse(body, "UTF-8");
+
+        assertThat(parsed.complete()).isTrue();
+        assertThat(parsed.truncated()).isFalse();
+        assertThat(parsed.body()).isEqualTo(body);
+    }
+
+    @Test
+    void truncatesDocumentLargerThanMaxSize() throws IOException {
+        byte[] body = "<html><body><p>최초기준가격</p></body></html>".getBytes(StandardCharsets.UTF_8);
+        ReflectionTestUtils.setField(prospectusStreamParser, "maxParseSize", DataSize.ofBytes(body.length - 1));
+
+        ProspectusStreamParser.Parsed parsed = parse(body, "UTF-8");
+
+        assertThat(parsed.complete()).isFalse();
+        assertThat(parsed.truncated()).isTrue();
+        assertThat(parsed.body()).hasSize(body.length - 1);
+        assertThat(meterRegistry.counter("batch.prospectus.parse", "stop", "limit").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void detectsCharsetFromMetaTag() throws IOException {
+        Charset eucKr = Charset.forName("EUC-KR");
+        String html = "<html><head><meta http-equiv=\"Content-Type\" content=\"text/html; charset=euc-kr\"></head>"
+                + "<body><p>만기평가일</p></body></html>";
+
+        ProspectusStreamParser.Parsed parsed = parse(html.getBytes(eucKr), null);
+
+        assertThat(parsed.charset()).isEqualTo("EUC-KR");
+        assertThat(parsed.document().text()).contains("만기평가일");
+    }
+
+    private ProspectusStreamParser.Parsed parse(byte[] body, String charset) throws IOException {
+        return prospectusStreamParser.parse(new ByteArrayInputStream(body), charset, URL);
+    }
+}
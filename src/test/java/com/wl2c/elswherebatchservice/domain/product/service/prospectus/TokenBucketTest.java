@@ -0,0 +1,38 @@
+package com.wl2c.elswherebatchservice.domain.product.service.prospectus;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    @Test
+    void allowsBurstWithoutWaiting() {
+        TokenBucket tokenBucket = new TokenBucket(1, 3);
+
+        assertThat(tokenBucket.reserve()).isZero();
+        assertThat(tokenBucket.reserve()).isZero();
+        assertThat(tokenBucket.reserve()).isZero();
+    }
+
+    @Test
+    void spacesOutRequestsAfterBurst() {
+        TokenBucket tokenBucket = new TokenBucket(1, 1);
+        tokenBucket.reserve();
+
+        // 초당 1 개이므로 대기하는 요청은 1초 간격으로 예약됨
+        assertThat(tokenBucket.reserve()).isBetween(Duration.ofMillis(900).toNanos(), Duration.ofSeconds(1).toNanos());
+        assertThat(tokenBucket.reserve()).isBetween(Duration.ofMillis(1900).toNanos(), Duration.ofSeconds(2).toNanos());
+    }
+
+    @Test
+    void refillsOverTime() throws InterruptedException {
+        TokenBucket tokenBucket = new TokenBucket(100, 1);
+        tokenBucket.reserve();
+
+        Thread.sleep(50);
+        assertThat(tokenBucket.reserve()).isZero();
+    }
+}